@@ -1,26 +1,40 @@
 import javax.swing.*;
 import java.io.File;
+import java.io.IOException;
 
+import model.AudioPlayer;
 import model.DatabaseManager;
+import model.Log;
+import model.Metrics;
+import view.GamePanel;
 import view.MainMenuView;
+import view.SplashWindow;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.concurrent.CompletableFuture;
 
 public class Main {
     public static void main(String[] args) {
-        System.out.println("Starting Azzam Love Game...");
+        Log.info("Starting Azzam Love Game...");
+        
+        // Pilihan mode render dari argumen baris perintah (sama dengan -Dazzam.render=active)
+        for (String arg : args) {
+            if ("--active-render".equals(arg)) {
+                System.setProperty("azzam.render", "active");
+            }
+        }
         
         // Check if MySQL connector exists in lib folder
         File mysqlConnector = new File("lib/mysql-connector-j-9.2.0.jar");
         if (!mysqlConnector.exists()) {
-            System.out.println("WARNING: MySQL connector JAR not found in lib folder!");
-            System.out.println("Expected path: " + mysqlConnector.getAbsolutePath());
+            Log.warn("WARNING: MySQL connector JAR not found in lib folder!");
+            Log.warn("Expected path: {}", mysqlConnector.getAbsolutePath());
             
             // Check if it's in the classpath
             try {
                 Class.forName("com.mysql.cj.jdbc.Driver");
-                System.out.println("MySQL driver found in classpath!");
+                Log.info("MySQL driver found in classpath!");
             } catch (ClassNotFoundException e) {
                 JOptionPane.showMessageDialog(null,
                     "MySQL JDBC driver not found!\n\n" +
@@ -33,23 +47,53 @@ public class Main {
             }
         }
         
-        // Initialize DatabaseManager early to ensure database is created
-        try {
-            DatabaseManager dbManager = DatabaseManager.getInstance();
-            if (dbManager != null) {
-                dbManager.initializeDatabase();
-                System.out.println("Database initialized in main application");
+        // Tunggu penyimpanan yang tertunda, tutup pool koneksi dan perangkat audio saat aplikasi keluar;
+        // ringkasan metrik ditambahkan ke file jika -Dazzam.metrics.file diisi
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            DatabaseManager.getInstance().closeConnection();
+            AudioPlayer.shutdown();
+            String metricsFile = System.getProperty("azzam.metrics.file");
+            if (metricsFile != null) {
+                try {
+                    Metrics.dumpToFile(metricsFile);
+                } catch (IOException e) {
+                    Log.error("Gagal menulis metrik ke {}: {}", metricsFile, e.getMessage());
+                }
             }
-        } catch (Exception e) {
-            System.out.println("Error initializing database in main: " + e.getMessage());
-        }
+            Log.flush();
+        }));
         
         // Start application on Swing Event Dispatch Thread
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
-                System.out.println("Launching main menu...");
-                new MainMenuView();
+                // Layar pembuka tampil segera; database dan sprite menu disiapkan paralel di belakang
+                SplashWindow splash = new SplashWindow();
+                splash.setVisible(true);
+                
+                // Buka koneksi pertama lebih awal; database dan tabel dibuat oleh pool saat koneksi
+                // pertama berhasil, jadi server yang baru menyala nanti tetap mendapat skemanya
+                splash.track("Database siap", CompletableFuture.runAsync(() -> {
+                    try {
+                        DatabaseManager dbManager = DatabaseManager.getInstance();
+                        if (dbManager != null) {
+                            dbManager.initializeDatabase();
+                            Log.info("Database initialized in main application");
+                        }
+                    } catch (Exception e) {
+                        Log.error("Error initializing database in main: {}", e.getMessage());
+                    }
+                }));
+                for (CompletableFuture<?> sprite : MainMenuView.preloadAssets()) {
+                    splash.track("Gambar dimuat", sprite);
+                }
+                
+                splash.whenDone(() -> {
+                    Log.info("Launching main menu...");
+                    new MainMenuView();
+                    // Sprite permainan dimuat sambil pemain mengisi nama di menu
+                    GamePanel.prefetchAssets();
+                });
             }
         });
     }
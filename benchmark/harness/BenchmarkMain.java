@@ -0,0 +1,55 @@
+package harness;
+
+import model.DatabaseBenchmarks;
+import view.RenderBenchmarks;
+import viewmodel.EngineBenchmarks;
+
+/**
+ * Titik masuk benchmark. Argumen opsional:
+ *   --warmup N       iterasi pemanasan (default 5)
+ *   --iterations N   iterasi pengukuran (default 10)
+ *   --time-ms N      lama satu iterasi dalam milidetik (default 200)
+ *   --no-db          lewati benchmark database
+ *   teks lain        hanya jalankan benchmark yang namanya mengandung teks tersebut
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        int warmup = 5;
+        int iterations = 10;
+        long iterationMillis = 200;
+        boolean database = true;
+        String filter = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--time-ms":
+                    iterationMillis = Long.parseLong(args[++i]);
+                    break;
+                case "--no-db":
+                    database = false;
+                    break;
+                default:
+                    filter = args[i];
+            }
+        }
+
+        // Jangan tulis data benchmark ke database permainan
+        if (System.getProperty("azzam.db.name") == null) {
+            System.setProperty("azzam.db.name", "azzam_love_bench");
+        }
+
+        Harness harness = new Harness(warmup, iterations, iterationMillis);
+        EngineBenchmarks.register(harness);
+        RenderBenchmarks.register(harness);
+        if (database && (filter == null || filter.startsWith("database"))) {
+            DatabaseBenchmarks.register(harness);
+        }
+        harness.runAll(filter);
+    }
+}
@@ -0,0 +1,119 @@
+package harness;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Harness benchmark kecil tanpa dependensi (JMH tidak tersedia di build proyek ini).
+ * Setiap benchmark dijalankan dalam batch berukuran tetap: beberapa iterasi
+ * pemanasan agar JIT selesai mengompilasi, lalu beberapa iterasi pengukuran.
+ * Hasilnya ns/operasi (rata-rata, simpangan baku, minimum) dan byte yang
+ * dialokasikan per operasi jika JVM mendukung pengukuran alokasi per thread.
+ */
+public final class Harness {
+    // Satu benchmark; run() menjalankan operasi sebanyak yang diminta
+    public interface Benchmark {
+        void run(int operations) throws Exception;
+    }
+
+    // Tempat membuang hasil agar JIT tidak menghapus kode yang diukur
+    private static volatile long sink;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Benchmark> benchmarks = new ArrayList<>();
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+
+    public Harness(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    public static void consume(long value) {
+        sink += value;
+    }
+
+    public static void consume(Object value) {
+        sink += System.identityHashCode(value);
+    }
+
+    public void add(String name, Benchmark benchmark) {
+        names.add(name);
+        benchmarks.add(benchmark);
+    }
+
+    // Jalankan semua benchmark yang namanya mengandung filter (null berarti semua)
+    public void runAll(String filter) throws Exception {
+        System.out.printf("%-40s %14s %12s %14s %12s%n", "Benchmark", "ns/op", "+-", "min ns/op", "B/op");
+        for (int i = 0; i < benchmarks.size(); i++) {
+            String name = names.get(i);
+            if (filter != null && !name.contains(filter)) continue;
+            measure(name, benchmarks.get(i));
+        }
+    }
+
+    private void measure(String name, Benchmark benchmark) throws Exception {
+        int operations = calibrate(benchmark);
+        for (int i = 0; i < warmupIterations; i++) {
+            benchmark.run(operations);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        double[] nanosPerOp = new double[measurementIterations];
+        long allocatedBefore = allocatedBytes(threads);
+        for (int i = 0; i < measurementIterations; i++) {
+            long start = System.nanoTime();
+            benchmark.run(operations);
+            nanosPerOp[i] = (double) (System.nanoTime() - start) / operations;
+        }
+        long allocatedAfter = allocatedBytes(threads);
+
+        double mean = 0;
+        double min = Double.MAX_VALUE;
+        for (double value : nanosPerOp) {
+            mean += value;
+            min = Math.min(min, value);
+        }
+        mean /= nanosPerOp.length;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double deviation = nanosPerOp.length > 1 ? Math.sqrt(variance / (nanosPerOp.length - 1)) : 0;
+
+        String allocation = allocatedBefore < 0 ? "n/a"
+                : String.format("%.1f", (double) (allocatedAfter - allocatedBefore)
+                        / ((long) operations * measurementIterations));
+        System.out.printf("%-40s %14.1f %12.1f %14.1f %12s%n", name, mean, deviation, min, allocation);
+    }
+
+    // Cari ukuran batch sehingga satu iterasi berlangsung kira-kira iterationNanos
+    private int calibrate(Benchmark benchmark) throws Exception {
+        int operations = 1;
+        while (true) {
+            long start = System.nanoTime();
+            benchmark.run(operations);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= iterationNanos / 4 || operations >= (1 << 28)) {
+                long scaled = Math.max(1, (long) operations * iterationNanos / Math.max(1, elapsed));
+                return (int) Math.min(Integer.MAX_VALUE, scaled);
+            }
+            operations *= 2;
+        }
+    }
+
+    // Byte yang sudah dialokasikan thread ini; -1 jika JVM tidak mendukung
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean extended = (com.sun.management.ThreadMXBean) threads;
+            if (extended.isThreadAllocatedMemorySupported() && extended.isThreadAllocatedMemoryEnabled()) {
+                return extended.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
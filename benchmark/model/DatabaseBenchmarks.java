@@ -0,0 +1,44 @@
+package model;
+
+import harness.Harness;
+
+import java.util.ArrayList;
+
+/**
+ * Benchmark operasi database: upsert hasil pemain dan membaca semua hasil.
+ * Membutuhkan server MySQL lokal; BenchmarkMain memakai database terpisah
+ * (azzam_love_bench) agar papan skor permainan tidak ikut terisi.
+ * Jika server tidak dapat dijangkau, benchmark ini dilewati.
+ */
+public final class DatabaseBenchmarks {
+    private static final int PLAYERS = 1000;
+
+    private DatabaseBenchmarks() {
+    }
+
+    public static void register(Harness harness) {
+        DatabaseManager databaseManager = DatabaseManager.getInstance();
+        databaseManager.initializeDatabase();
+        if (!databaseManager.isAvailable()) {
+            System.out.println("Server MySQL tidak tersedia, benchmark database dilewati");
+            return;
+        }
+
+        // Isi tabel dengan jumlah pemain tetap agar getAllResults mengukur ukuran yang sama
+        for (int i = 0; i < PLAYERS; i++) {
+            databaseManager.savePlayerResult(new PlayerResult("bench_" + i, i, i / 10));
+        }
+
+        harness.add("database.savePlayerResult", operations -> {
+            for (int i = 0; i < operations; i++) {
+                databaseManager.savePlayerResult(new PlayerResult("bench_" + (i % PLAYERS), i, i / 10));
+            }
+        });
+        harness.add("database.getAllResults", operations -> {
+            for (int i = 0; i < operations; i++) {
+                ArrayList<PlayerResult> results = databaseManager.getAllResults();
+                Harness.consume(results.size());
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package view;
+
+import harness.Harness;
+import viewmodel.GameEngine;
+import viewmodel.TickClock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Benchmark penggambaran satu frame permainan ke BufferedImage di luar layar.
+ * Memakai GameRenderer yang sama dengan GamePanel (paintComponent dan mode
+ * aktif), dengan engine headless sebagai sumber RenderState.
+ * Jalankan dari folder proyek agar sprite di assets/ ditemukan.
+ */
+public final class RenderBenchmarks {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    private RenderBenchmarks() {
+    }
+
+    public static void register(Harness harness) {
+        for (int hearts : new int[] {7, 500}) {
+            harness.add("render.frame[hearts=" + hearts + "]", frame(hearts));
+        }
+    }
+
+    // Gambar frame dari snapshot engine ke g2d yang sudah ada; dipakai viewmodel.AllocationCheck
+    // karena GameRenderer tidak publik. Renderer dibuat sekali, jadi run() tidak membuat objek
+    public static Runnable frameDrawer(GameEngine engine, Graphics2D g2d) {
+        GameRenderer renderer = new GameRenderer(WIDTH, HEIGHT);
+        return () -> {
+            renderer.drawBackground(g2d);
+            renderer.drawFrame(g2d, engine.getFrameSnapshot(), 0.5);
+        };
+    }
+
+    private static Harness.Benchmark frame(int heartCount) {
+        GameEngine engine = GameEngine.headless(new TickClock(60), 1);
+        engine.setMaxHearts(heartCount);
+        engine.setStressMode(true);
+        engine.startGame("benchmark");
+        engine.throwLasso(WIDTH / 2, HEIGHT / 2);
+        for (int i = 0; i < 10; i++) {
+            engine.update();
+        }
+
+        GameRenderer renderer = new GameRenderer(WIDTH, HEIGHT);
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        return operations -> {
+            for (int i = 0; i < operations; i++) {
+                Graphics2D g2d = target.createGraphics();
+                try {
+                    renderer.drawBackground(g2d);
+                    renderer.drawFrame(g2d, engine, 0.5);
+                } finally {
+                    g2d.dispose();
+                }
+            }
+            Harness.consume(target.getRGB(WIDTH / 2, HEIGHT / 2));
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package viewmodel;
+
+import view.RenderBenchmarks;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Memeriksa bahwa satu tick permainan tidak mengalokasikan objek: input
+ * (InputController.processInput), GameEngine.update, dan penggambaran frame
+ * oleh GameRenderer ke BufferedImage. Setelah pemanasan, byte yang dialokasikan
+ * thread ini selama TICKS tick dibaca dari com.sun.management.ThreadMXBean;
+ * program keluar dengan kode 1 jika ada alokasi.
+ * Jalankan dari folder proyek agar sprite di assets/ ditemukan.
+ *
+ * Contoh: java -cp . viewmodel.AllocationCheck
+ */
+public final class AllocationCheck {
+    private static final int WARMUP_TICKS = 20_000; // Cukup agar JIT selesai mengompilasi jalur tick
+    private static final int TICKS = 10_000;
+    private static final int HEARTS = 500;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("JVM ini tidak menyediakan com.sun.management.ThreadMXBean");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        // Engine headless yang tidak pernah berakhir karena jamnya tidak dimajukan
+        GameEngine engine = GameEngine.headless(new TickClock(60), 1);
+        engine.setMaxHearts(HEARTS);
+        engine.setStressMode(true);
+        InputController input = new InputController(engine);
+        engine.startGame("allocation");
+        // Tombol kanan ditahan agar jalur gerak pemain ikut diperiksa
+        Component source = new Canvas();
+        input.keyPressed(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+
+        BufferedImage target = new BufferedImage(GameEngine.SCREEN_WIDTH, GameEngine.SCREEN_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = target.createGraphics();
+        try {
+            Runnable drawFrame = RenderBenchmarks.frameDrawer(engine, g2d);
+            for (int i = 0; i < WARMUP_TICKS; i++) {
+                tick(engine, input, drawFrame, i);
+            }
+
+            // Pembacaan penghitung sendiri dapat mengalokasikan (array di Java 8); ukur lalu kurangi
+            long first = allocations.getThreadAllocatedBytes(threadId);
+            long overhead = allocations.getThreadAllocatedBytes(threadId) - first;
+            long before = allocations.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < TICKS; i++) {
+                tick(engine, input, drawFrame, i);
+            }
+            long allocated = allocations.getThreadAllocatedBytes(threadId) - before - overhead;
+
+            System.out.println("Alokasi         : " + allocated + " byte dalam " + TICKS + " tick ("
+                    + engine.getHearts().size() + " hati di layar)");
+            if (allocated > 0) {
+                System.out.println("GAGAL: jalur tick mengalokasikan objek");
+                System.exit(1);
+            }
+            System.out.println("OK: tidak ada alokasi");
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    // Urutan sama dengan GamePanel.tick() diikuti satu frame
+    private static void tick(GameEngine engine, InputController input, Runnable drawFrame, int i) {
+        // Lempar laso secara berkala agar jalur tabrakan ikut terukur
+        if (!engine.hasLasso()) {
+            engine.throwLasso(GameEngine.SCREEN_WIDTH / 2, i % GameEngine.SCREEN_HEIGHT);
+        }
+        input.processInput();
+        engine.update();
+        drawFrame.run();
+    }
+}
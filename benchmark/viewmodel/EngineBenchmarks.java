@@ -0,0 +1,82 @@
+package viewmodel;
+
+import harness.Harness;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Benchmark logika permainan: satu tick GameEngine.update pada berbagai
+ * jumlah hati, tes tabrakan laso, dan memunculkan hati. Berada di paket
+ * viewmodel agar dapat memanggil metode engine yang tidak publik.
+ */
+public final class EngineBenchmarks {
+    private EngineBenchmarks() {
+    }
+
+    public static void register(Harness harness) {
+        for (int hearts : new int[] {7, 100, 1000, 5000}) {
+            harness.add("engine.update[hearts=" + hearts + "]", update(hearts));
+        }
+        harness.add("lasso.checkCollision", checkCollision());
+        harness.add("engine.spawnHeart", spawnHeart());
+    }
+
+    // Engine headless yang tidak pernah berakhir karena jamnya tidak dimajukan
+    static GameEngine createEngine(int maxHearts) {
+        GameEngine engine = GameEngine.headless(new TickClock(60), 1);
+        engine.setMaxHearts(maxHearts);
+        engine.setStressMode(true);
+        engine.startGame("benchmark");
+        return engine;
+    }
+
+    private static Harness.Benchmark update(int heartCount) {
+        GameEngine engine = createEngine(heartCount);
+        return operations -> {
+            for (int i = 0; i < operations; i++) {
+                // Lempar laso secara berkala agar jalur tabrakan ikut terukur
+                if (!engine.hasLasso()) {
+                    engine.throwLasso(GameEngine.SCREEN_WIDTH / 2, i % GameEngine.SCREEN_HEIGHT);
+                }
+                engine.update();
+            }
+            Harness.consume(engine.getScore());
+        };
+    }
+
+    private static Harness.Benchmark checkCollision() {
+        GameEngine engine = createEngine(7);
+        GameEngine.Lasso lasso = engine.new Lasso(new Point(50, 300), new Point(400, 300));
+        Random random = new Random(1);
+        float[] xs = new float[1024];
+        float[] ys = new float[1024];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(GameEngine.SCREEN_WIDTH);
+            ys[i] = random.nextInt(GameEngine.SCREEN_HEIGHT);
+        }
+        return operations -> {
+            int hits = 0;
+            for (int i = 0; i < operations; i++) {
+                int index = i & (xs.length - 1);
+                if (lasso.checkCollision(xs[index], ys[index], 30)) {
+                    hits++;
+                }
+            }
+            Harness.consume(hits);
+        };
+    }
+
+    private static Harness.Benchmark spawnHeart() {
+        GameEngine engine = createEngine(4096);
+        return operations -> {
+            for (int i = 0; i < operations; i++) {
+                if (engine.getHearts().size() >= 4096) {
+                    engine.reset();
+                }
+                engine.spawnHeart();
+            }
+            Harness.consume(engine.getHearts().size());
+        };
+    }
+}
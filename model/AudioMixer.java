@@ -0,0 +1,275 @@
+package model;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Mixer perangkat lunak untuk efek suara dan musik.
+ * Semua suara di-decode sekali menjadi PCM 16-bit stereo 44.1 kHz (decode()),
+ * lalu satu thread mixer menjumlahkan suara yang sedang aktif dari pool voice
+ * berukuran tetap dan menulisnya ke satu SourceDataLine dengan buffer kecil.
+ * Memutar suara hanya mengisi satu voice, tanpa membuat thread, Clip, atau
+ * membaca file, sehingga suara terdengar dalam beberapa milidetik.
+ * Musik latar tidak di-decode penuh, tetapi dialirkan lewat MusicStream.
+ */
+final class AudioMixer implements Runnable {
+    static final float SAMPLE_RATE = 44100f;
+    static final int CHANNELS = 2;
+    static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    // Satu periode mixing sekitar 5,8 ms; buffer line tiga periode (latensi sekitar 17 ms)
+    private static final int PERIOD_FRAMES = 256;
+    private static final int LINE_BUFFER_PERIODS = 3;
+    // Jumlah suara yang dapat terdengar bersamaan
+    private static final int MAX_VOICES = 16;
+    // Jeda dari play() sampai sampel pertama suara masuk ke periode mixing
+    private static final Metrics.Timer START_TIMER = Metrics.timer("audio.start");
+
+    // Satu suara yang sedang diputar; hanya diubah saat memegang kunci voices
+    private static final class Voice {
+        short[] samples; // Sampel stereo berselang-seling, null jika voice kosong
+        int position;
+        boolean loop;
+        long requested; // System.nanoTime() saat play(), 0 setelah latensi mulai dicatat
+    }
+
+    private final SourceDataLine line;
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final int[] mix = new int[PERIOD_FRAMES * CHANNELS];
+    private final byte[] output = new byte[PERIOD_FRAMES * CHANNELS * 2];
+    private final Thread thread;
+    private volatile boolean running = true; // false setelah close(); thread mixer lalu berhenti
+    private volatile MusicStream music; // Kanal musik streaming, null jika tidak ada musik
+
+    private AudioMixer(SourceDataLine line) {
+        this.line = line;
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+        thread = new Thread(this, "AudioMixer");
+        thread.setDaemon(true);
+        // Prioritas tinggi agar buffer line yang kecil tidak kosong (suara putus-putus)
+        thread.setPriority(Thread.MAX_PRIORITY);
+    }
+
+    // Buka line audio dan mulai thread mixer; null jika perangkat audio tidak tersedia
+    static AudioMixer open() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, PERIOD_FRAMES * LINE_BUFFER_PERIODS * FORMAT.getFrameSize());
+            line.start();
+            AudioMixer mixer = new AudioMixer(line);
+            mixer.thread.start();
+            Log.info("Audio mixer started, line buffer: {} bytes", line.getBufferSize());
+            return mixer;
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            Log.warn("Audio mixer tidak tersedia, memakai Clip: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Mulai memutar sampel pada voice kosong. Jika sampel ini sudah terdengar maxVoices kali,
+    // salinan yang paling lama diputar ulang dari awal; jika semua voice terpakai, suara dilewati
+    void play(short[] samples, boolean loop, int maxVoices) {
+        synchronized (voices) {
+            Voice free = null;
+            Voice oldest = null;
+            int playing = 0;
+            for (Voice voice : voices) {
+                if (voice.samples == samples) {
+                    playing++;
+                    if (oldest == null || voice.position > oldest.position) {
+                        oldest = voice;
+                    }
+                } else if (voice.samples == null && free == null) {
+                    free = voice;
+                }
+            }
+            Voice target = playing >= maxVoices ? oldest : free;
+            if (target != null) {
+                target.samples = samples;
+                target.position = 0;
+                target.loop = loop;
+                target.requested = System.nanoTime();
+                return;
+            }
+        }
+        AudioPlayer.SKIP_COUNTER.increment();
+        Log.warn("Semua voice audio terpakai, suara dilewati");
+    }
+
+    // Hentikan semua voice yang memutar sampel ini
+    void stop(short[] samples) {
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                if (voice.samples == samples) {
+                    voice.samples = null;
+                }
+            }
+        }
+    }
+
+    void stopAll() {
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                voice.samples = null;
+            }
+        }
+        stopMusic();
+    }
+
+    // Ganti musik yang sedang diputar dengan stream baru
+    void playMusic(MusicStream stream) {
+        MusicStream previous = music;
+        music = stream;
+        if (previous != null) {
+            previous.stop();
+        }
+        stream.start();
+    }
+
+    void stopMusic() {
+        MusicStream previous = music;
+        music = null;
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    @Override
+    public void run() {
+        // Saat tidak ada suara, keheningan tetap ditulis agar line tetap berjalan dan latensi konstan
+        while (running) {
+            mixPeriod();
+            line.write(output, 0, output.length);
+        }
+    }
+
+    // Hentikan thread mixer dan musik, lalu mainkan sisa buffer line sebelum line ditutup
+    void close() {
+        running = false;
+        stopMusic();
+        if (thread != Thread.currentThread()) {
+            try {
+                // Paling lama satu periode lagi sampai write() terakhir selesai
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        line.drain();
+        line.stop();
+        line.close();
+        Log.info("Audio mixer stopped");
+    }
+
+    private void mixPeriod() {
+        Arrays.fill(mix, 0);
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                if (voice.samples != null) {
+                    mixVoice(voice);
+                }
+            }
+        }
+        MusicStream stream = music;
+        if (stream != null) {
+            stream.mixInto(mix);
+        }
+
+        // Batasi ke rentang 16-bit lalu tulis sebagai little-endian
+        for (int i = 0, j = 0; i < mix.length; i++, j += 2) {
+            int sample = mix[i];
+            if (sample > Short.MAX_VALUE) {
+                sample = Short.MAX_VALUE;
+            } else if (sample < Short.MIN_VALUE) {
+                sample = Short.MIN_VALUE;
+            }
+            output[j] = (byte) sample;
+            output[j + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    private void mixVoice(Voice voice) {
+        short[] samples = voice.samples;
+        if (voice.requested != 0) {
+            START_TIMER.recordSince(voice.requested);
+            voice.requested = 0;
+        }
+        int filled = 0;
+        while (filled < mix.length) {
+            int count = Math.min(mix.length - filled, samples.length - voice.position);
+            for (int i = 0; i < count; i++) {
+                mix[filled + i] += samples[voice.position + i];
+            }
+            filled += count;
+            voice.position += count;
+            if (voice.position >= samples.length) {
+                if (!voice.loop || samples.length == 0) {
+                    voice.samples = null;
+                    return;
+                }
+                voice.position = 0;
+            }
+        }
+    }
+
+    // Decode file audio (WAV, atau MP3 jika MP3SPI tersedia) menjadi sampel dengan format mixer
+    static short[] decode(String path) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new File(path))) {
+            AudioFormat sourceFormat = source.getFormat();
+            int channels = sourceFormat.getChannels();
+            float sampleRate = sourceFormat.getSampleRate();
+            AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED,
+                    sampleRate, 16, channels, channels * 2, sampleRate, false);
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+                return toMixerFormat(readAll(pcm), channels, sampleRate);
+            }
+        }
+    }
+
+    // Ubah PCM 16-bit little-endian menjadi stereo 44.1 kHz (mono digandakan, laju sampel diinterpolasi)
+    private static short[] toMixerFormat(byte[] bytes, int channels, float sampleRate) {
+        int sourceFrames = bytes.length / (channels * 2);
+        double step = sampleRate / SAMPLE_RATE;
+        int frames = (int) (sourceFrames / step);
+        short[] samples = new short[frames * CHANNELS];
+        for (int frame = 0; frame < frames; frame++) {
+            double position = frame * step;
+            int index = (int) position;
+            double fraction = position - index;
+            int next = Math.min(index + 1, sourceFrames - 1);
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                int sourceChannel = Math.min(channel, channels - 1);
+                int a = sample(bytes, index, sourceChannel, channels);
+                int b = sample(bytes, next, sourceChannel, channels);
+                samples[frame * CHANNELS + channel] = (short) Math.round(a + (b - a) * fraction);
+            }
+        }
+        return samples;
+    }
+
+    private static int sample(byte[] bytes, int frame, int channel, int channels) {
+        int offset = (frame * channels + channel) * 2;
+        return (short) ((bytes[offset] & 0xFF) | (bytes[offset + 1] << 8));
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -2,17 +2,29 @@ package model;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sound.sampled.*;
 
 /**
- * AudioPlayer yang mendukung pemutaran file MP3 dan WAV
- * dengan implementasi sederhana.
+ * AudioPlayer yang mendukung pemutaran file MP3 dan WAV.
+ * Suara di-decode sekali saat dimuat dan diputar lewat AudioMixer;
+ * jika perangkat audio tidak dapat dibuka sebagai SourceDataLine,
+ * pemutaran kembali memakai Clip per suara.
  */
 public class AudioPlayer {
     private static AudioPlayer instance;
     private Map<String, Sound> sounds;
+    private final AudioMixer mixer; // null jika memakai Clip
+    private final ExecutorService audioExecutor = createAudioExecutor();
     private boolean soundEnabled = true;
     
     // Mapping nama file suara sesuai kebutuhan game
@@ -20,10 +32,21 @@ public class AudioPlayer {
     private static final String INGAME_SOUND = "ingame";
     private static final String ACHIEVEMENT_SOUND = "achievement";
     private static final String CHARACTER_CHANGE_SOUND = "character_change";
+    
+    // Batas sumber daya audio
+    private static final int MAX_VOICES_PER_SOUND = 2; // Salinan suara yang sama yang terdengar bersamaan
+    private static final int AUDIO_THREADS = 2; // Thread untuk membuka Clip (jalur tanpa mixer)
+    private static final int AUDIO_QUEUE_SIZE = 8; // Pemutaran yang boleh mengantre; sisanya dilewati
+    
+    // Metrik: jumlah permintaan suara, suara yang dilewati, dan jeda dari permintaan sampai Clip mulai
+    private static final Metrics.Counter PLAY_COUNTER = Metrics.counter("audio.plays");
+    static final Metrics.Counter SKIP_COUNTER = Metrics.counter("audio.skipped");
+    private static final Metrics.Timer START_TIMER = Metrics.timer("audio.start");
 
     // Private constructor untuk singleton pattern
     private AudioPlayer() {
         sounds = new HashMap<>();
+        mixer = AudioMixer.open();
         loadSounds();
     }
 
@@ -38,13 +61,13 @@ public class AudioPlayer {
     // Load semua suara game
     private void loadSounds() {
         try {
-            System.out.println("===== LOADING GAME SOUNDS =====");
+            Log.debug("===== LOADING GAME SOUNDS =====");
             
             // Suara game start
             loadSound(GAME_START_SOUND, "assets/sound game start.wav");
             
-            // Suara ingame (background music)
-            loadSound(INGAME_SOUND, "assets/sound ingame.wav");
+            // Suara ingame (background music), dialirkan dari MP3 terkompresi
+            loadMusic(INGAME_SOUND, "assets/sound ingame.mp3");
             
             // Suara achievement
             loadSound(ACHIEVEMENT_SOUND, "assets/sound achivement.wav");
@@ -52,10 +75,9 @@ public class AudioPlayer {
             // Suara perubahan karakter
             loadSound(CHARACTER_CHANGE_SOUND, "assets/sound berubah.wav");
             
-            System.out.println("===== SOUND LOADING COMPLETED =====");
+            Log.debug("===== SOUND LOADING COMPLETED =====");
         } catch (Exception e) {
-            System.out.println("Error initializing sounds: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error initializing sounds: {}", e.getMessage(), e);
         }
     }
     
@@ -64,19 +86,60 @@ public class AudioPlayer {
         try {
             File soundFile = new File(path);
             if (!soundFile.exists()) {
-                System.out.println("File tidak ditemukan: " + path);
+                Log.warn("File tidak ditemukan: {}", path);
                 return;
             }
             
-            System.out.println("Loading sound: " + name + " from " + path);
+            Log.debug("Loading sound: {} from {}", name, path);
+            
+            // Decode ke PCM sekali di sini agar pemutaran tidak membaca file lagi
+            short[] samples = null;
+            if (mixer != null) {
+                try {
+                    samples = AudioMixer.decode(path);
+                } catch (Exception e) {
+                    Log.warn("Decode PCM gagal untuk {}, memakai Clip: {}", name, e.getMessage());
+                }
+            }
             
             // Buat objek Sound baru dan tambahkan ke map
-            Sound sound = new Sound(path);
+            Sound sound = new Sound(path, samples, null);
             sounds.put(name, sound);
             
-            System.out.println("Sound loaded successfully: " + name);
+            Log.info("Sound loaded successfully: {}", name);
+        } catch (Exception e) {
+            Log.error("Error loading sound {}: {}", name, e.getMessage());
+        }
+    }
+    
+    // Load musik: disimpan sebagai byte MP3 terkompresi dan di-decode bertahap saat diputar
+    private void loadMusic(String name, String path) {
+        try {
+            File musicFile = new File(path);
+            if (!musicFile.exists()) {
+                Log.warn("File tidak ditemukan: {}", path);
+                return;
+            }
+            
+            Log.debug("Loading music: {} from {}", name, path);
+            
+            byte[] compressed = null;
+            if (mixer != null) {
+                try (FileInputStream input = new FileInputStream(musicFile)) {
+                    compressed = new byte[(int) musicFile.length()];
+                    int offset = 0;
+                    int read;
+                    while (offset < compressed.length
+                            && (read = input.read(compressed, offset, compressed.length - offset)) != -1) {
+                        offset += read;
+                    }
+                }
+            }
+            sounds.put(name, new Sound(path, null, compressed));
+            
+            Log.info("Music loaded successfully: {} ({} KB)", name, musicFile.length() / 1024);
         } catch (Exception e) {
-            System.out.println("Error loading sound " + name + ": " + e.getMessage());
+            Log.error("Error loading music {}: {}", name, e.getMessage());
         }
     }
     
@@ -87,13 +150,14 @@ public class AudioPlayer {
         try {
             Sound sound = sounds.get(name);
             if (sound != null) {
+                PLAY_COUNTER.increment();
                 sound.play();
-                System.out.println("Playing sound: " + name);
+                Log.debug("Playing sound: {}", name);
             } else {
-                System.out.println("Sound not found: " + name);
+                Log.warn("Sound not found: {}", name);
             }
         } catch (Exception e) {
-            System.out.println("Error playing sound " + name + ": " + e.getMessage());
+            Log.error("Error playing sound {}: {}", name, e.getMessage());
         }
     }
     
@@ -105,12 +169,12 @@ public class AudioPlayer {
             Sound sound = sounds.get(name);
             if (sound != null) {
                 sound.loop();
-                System.out.println("Looping sound: " + name);
+                Log.debug("Looping sound: {}", name);
             } else {
-                System.out.println("Sound not found: " + name);
+                Log.warn("Sound not found: {}", name);
             }
         } catch (Exception e) {
-            System.out.println("Error looping sound " + name + ": " + e.getMessage());
+            Log.error("Error looping sound {}: {}", name, e.getMessage());
         }
     }
     
@@ -120,12 +184,12 @@ public class AudioPlayer {
             Sound sound = sounds.get(name);
             if (sound != null) {
                 sound.stop();
-                System.out.println("Stopping sound: " + name);
+                Log.debug("Stopping sound: {}", name);
             } else {
-                System.out.println("Sound not found: " + name);
+                Log.warn("Sound not found: {}", name);
             }
         } catch (Exception e) {
-            System.out.println("Error stopping sound " + name + ": " + e.getMessage());
+            Log.error("Error stopping sound {}: {}", name, e.getMessage());
         }
     }
     
@@ -134,7 +198,26 @@ public class AudioPlayer {
         for (Sound sound : sounds.values()) {
             sound.stop();
         }
-        System.out.println("All sounds stopped");
+        if (mixer != null) {
+            mixer.stopAll();
+        }
+        Log.debug("All sounds stopped");
+    }
+    
+    // Tutup perangkat audio saat aplikasi keluar; tidak melakukan apa-apa jika AudioPlayer belum dibuat
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+    
+    private void close() {
+        stopAllSounds();
+        // Pemutaran Clip yang masih mengantre tidak perlu dijalankan lagi
+        audioExecutor.shutdownNow();
+        if (mixer != null) {
+            mixer.close();
+        }
     }
     
     // Aktifkan/nonaktifkan suara
@@ -150,109 +233,157 @@ public class AudioPlayer {
         return soundEnabled;
     }
     
+    // Executor audio terbatas untuk jalur Clip; thread virtual jika JVM mendukung (Java 21+)
+    private static ExecutorService createAudioExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(AUDIO_THREADS, AUDIO_THREADS,
+                10, TimeUnit.SECONDS, new ArrayBlockingQueue<>(AUDIO_QUEUE_SIZE), audioThreadFactory());
+        // Thread berhenti sendiri saat tidak ada suara yang dibuka
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    private static ThreadFactory audioThreadFactory() {
+        try {
+            // Thread.ofVirtual() dipanggil lewat refleksi agar tetap dapat dikompilasi untuk Java 8
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "Audio-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, "Audio-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+    
     /**
-     * Inner class untuk mengelola pemutaran suara MP3 secara individual
+     * Inner class untuk mengelola pemutaran satu suara.
+     * Dengan mixer, suara diputar dari PCM (efek) atau MusicStream (musik).
+     * Tanpa mixer, setiap pemutaran membuka Clip di executor audio; Clip yang
+     * terbuka dicatat agar stop() benar-benar menghentikan dan menutupnya.
      */
     private class Sound {
-        private String filePath;
-        private Thread playThread;
-        private boolean isPlaying = false;
-        private boolean isLooping = false;
+        private final String filePath;
+        private final short[] samples; // PCM untuk mixer, null jika memakai Clip
+        private final byte[] compressed; // MP3 untuk kanal musik streaming, null jika bukan musik
+        // Clip yang sedang terbuka, urut dari yang paling lama; dijaga oleh kunci daftar ini
+        private final ArrayList<Clip> clips = new ArrayList<>();
+        // Dinaikkan oleh stop() agar pemutaran yang masih mengantre di executor dibatalkan
+        private final AtomicInteger generation = new AtomicInteger();
         
-        public Sound(String filePath) {
+        public Sound(String filePath, short[] samples, byte[] compressed) {
             this.filePath = filePath;
+            this.samples = samples;
+            this.compressed = compressed;
         }
         
-        // Putar suara sekali
+        // Putar suara sekali; paling banyak MAX_VOICES_PER_SOUND salinan terdengar bersamaan
         public void play() {
-            // Hentikan pemutaran yang sedang berjalan
-            stop();
-            
-            isPlaying = true;
-            isLooping = false;
-            
-            playThread = new Thread(() -> {
-                try {
-                    playFile(filePath, false);
-                } catch (Exception e) {
-                    System.out.println("Error playing sound: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-            playThread.start();
+            start(false);
         }
         
-        // Loop suara terus menerus
+        // Loop suara terus menerus (tanpa jeda, tanpa membuka ulang file)
         public void loop() {
             // Hentikan pemutaran yang sedang berjalan
             stop();
-            
-            isPlaying = true;
-            isLooping = true;
-            
-            playThread = new Thread(() -> {
-                try {
-                    while (isPlaying && isLooping) {
-                        playFile(filePath, true);
-                    }
-                } catch (Exception e) {
-                    System.out.println("Error looping sound: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-            playThread.start();
+            start(true);
+        }
+        
+        private void start(boolean loop) {
+            if (samples != null) {
+                mixer.play(samples, loop, MAX_VOICES_PER_SOUND);
+                return;
+            }
+            if (compressed != null) {
+                mixer.playMusic(new MusicStream(compressed));
+                return;
+            }
+            int expected = generation.get();
+            long requested = System.nanoTime();
+            try {
+                audioExecutor.execute(() -> playClip(loop, expected, requested));
+            } catch (RejectedExecutionException e) {
+                SKIP_COUNTER.increment();
+                Log.warn("Antrean audio penuh, suara dilewati: {}", filePath);
+            }
         }
         
         // Hentikan pemutaran suara
         public void stop() {
-            isPlaying = false;
-            isLooping = false;
+            generation.incrementAndGet();
+            if (samples != null) {
+                mixer.stop(samples);
+            }
+            if (compressed != null) {
+                mixer.stopMusic();
+            }
             
-            if (playThread != null) {
-                try {
-                    playThread.interrupt();
-                    playThread = null;
-                } catch (Exception e) {
-                    // Ignore
-                }
+            ArrayList<Clip> playing;
+            synchronized (clips) {
+                playing = new ArrayList<>(clips);
+                clips.clear();
+            }
+            for (Clip clip : playing) {
+                clip.stop();
+                clip.close();
             }
         }
         
-        // Metode untuk memutar file suara
-        private void playFile(String filePath, boolean loop) {
+        // Dijalankan di executor audio: buka Clip lalu mulai memutarnya
+        private void playClip(boolean loop, int expected, long requested) {
+            Clip clip;
             try {
-                if (filePath.toLowerCase().endsWith(".mp3")) {
-                    playMP3(filePath, loop);
-                } else if (filePath.toLowerCase().endsWith(".wav")) {
-                    playWAV(filePath, loop);
-                }
+                clip = openClip();
             } catch (Exception e) {
-                System.out.println("Error playing sound file: " + e.getMessage());
+                Log.error("Error playing sound file {}: {}", filePath, e.getMessage());
+                return;
             }
-        }
-        
-        // Putar file MP3
-        private void playMP3(String filePath, boolean loop) {
-            try {
-                // Coba gunakan JavaSound dengan library MP3SPI
-                System.out.println("Attempting to play MP3 file: " + filePath);
-                
-                File file = new File(filePath);
-                if (!file.exists()) {
-                    System.out.println("File tidak ditemukan: " + filePath);
+            
+            Clip oldest = null;
+            synchronized (clips) {
+                if (generation.get() != expected) {
+                    // stop() dipanggil saat pemutaran ini masih mengantre
+                    clip.close();
                     return;
                 }
-                
-                try {
-                    // Menggunakan MP3SPI (akan bekerja jika JAR sudah ditambahkan ke classpath)
-                    System.out.println("Using MP3SPI/JLayer to play MP3");
-                    AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(file);
-                    AudioFormat baseFormat = audioInputStream.getFormat();
-                    
-                    System.out.println("Audio format: " + baseFormat);
-                    System.out.println("Sample rate: " + baseFormat.getSampleRate());
-                    System.out.println("Channels: " + baseFormat.getChannels());
-                    
+                if (clips.size() >= MAX_VOICES_PER_SOUND) {
+                    oldest = clips.remove(0);
+                }
+                clips.add(clip);
+            }
+            if (oldest != null) {
+                oldest.stop();
+                oldest.close();
+            }
+            
+            // Clip ditutup begitu selesai atau dihentikan agar line native dilepas
+            clip.addLineListener(event -> {
+                if (event.getType() == LineEvent.Type.STOP) {
+                    synchronized (clips) {
+                        clips.remove(clip);
+                    }
+                    clip.close();
+                }
+            });
+            
+            if (loop) {
+                clip.loop(Clip.LOOP_CONTINUOUSLY);
+            } else {
+                clip.start();
+            }
+            START_TIMER.recordSince(requested);
+        }
+        
+        // Buka file WAV atau MP3 (lewat MP3SPI) sebagai Clip; stream file langsung ditutup setelah dibaca
+        private Clip openClip() throws Exception {
+            try (AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(filePath))) {
+                AudioInputStream pcmStream = audioInputStream;
+                AudioFormat baseFormat = audioInputStream.getFormat();
+                if (baseFormat.getEncoding() != AudioFormat.Encoding.PCM_SIGNED) {
+                    // MP3 harus diubah ke PCM sebelum dapat dibuka oleh Clip
                     AudioFormat decodedFormat = new AudioFormat(
                             AudioFormat.Encoding.PCM_SIGNED,
                             baseFormat.getSampleRate(),
@@ -261,147 +392,23 @@ public class AudioPlayer {
                             baseFormat.getChannels() * 2,
                             baseFormat.getSampleRate(),
                             false);
-                    
-                    AudioInputStream decodedInputStream = AudioSystem.getAudioInputStream(decodedFormat, audioInputStream);
-                    Clip clip = AudioSystem.getClip();
-                    clip.open(decodedInputStream);
-                    
-                    clip.addLineListener(event -> {
-                        if (event.getType() == LineEvent.Type.STOP) {
-                            clip.close();
-                        }
-                    });
-                    
-                    if (loop) {
-                        clip.loop(Clip.LOOP_CONTINUOUSLY);
-                        System.out.println("MP3 playing in loop mode");
-                    } else {
-                        clip.start();
-                        System.out.println("MP3 playing once");
-                    }
-                    
-                    System.out.println("MP3 playback started successfully");
-                    return;
-                } catch (Exception e) {
-                    System.out.println("MP3 playback with MP3SPI failed: " + e.getMessage());
-                    e.printStackTrace();
+                    pcmStream = AudioSystem.getAudioInputStream(decodedFormat, audioInputStream);
                 }
                 
-                // Jika MP3 gagal diputar, coba cari file WAV dengan nama yang sama di folder sounds
-                String wavPath = "sounds/" + new File(filePath).getName().replaceAll("\\.mp3$", ".wav");
-                File wavFile = new File(wavPath);
-                
-                if (wavFile.exists()) {
-                    System.out.println("Fallback to WAV file: " + wavPath);
-                    playWAV(wavPath, loop);
-                } else {
-                    System.out.println("No WAV fallback found at: " + wavPath);
-                }
-            } catch (Exception e) {
-                System.out.println("MP3 playback error: " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
-        
-        // Putar file WAV
-        private void playWAV(String filePath, boolean loop) {
-            try {
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(filePath));
                 Clip clip = AudioSystem.getClip();
-                clip.open(audioInputStream);
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-                
-                if (loop) {
-                    clip.loop(Clip.LOOP_CONTINUOUSLY);
-                } else {
-                    clip.start();
-                }
-            } catch (Exception e) {
-                System.out.println("WAV playback error: " + e.getMessage());
-            }
-        }
-        
-        /**
-         * Khusus untuk musik in-game, putar sekali dan otomatis replay ketika selesai
-         */
-        public void playAndRestart() {
-            // Hentikan pemutaran yang sedang berjalan
-            stop();
-            
-            isPlaying = true;
-            isLooping = false; // Not true looping, we'll control restart manually
-            
-            playThread = new Thread(() -> {
                 try {
-                    // Keep playing the file as long as isPlaying is true
-                    while (isPlaying) {
-                        playFileWithAutoRestart(filePath);
-                    }
+                    clip.open(pcmStream);
                 } catch (Exception e) {
-                    System.out.println("Error in playAndRestart: " + e.getMessage());
-                    e.printStackTrace();
+                    clip.close();
+                    throw e;
                 }
-            });
-            playThread.start();
-        }
-        
-        // Putar file WAV dengan auto-restart ketika selesai
-        private void playFileWithAutoRestart(String filePath) {
-            try {
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(filePath));
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioInputStream);
-                
-                // Use a semaphore to wait for the clip to finish
-                Object lock = new Object();
-                
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        synchronized (lock) {
-                            lock.notify(); // Notify that clip has stopped
-                        }
-                        clip.close();
-                    }
-                });
-                
-                // Start playing
-                clip.start();
-                System.out.println("Playing in-game music once...");
-                
-                // Wait for the clip to finish
-                synchronized (lock) {
-                    try {
-                        lock.wait(); // Wait for notification from LineListener
-                    } catch (InterruptedException e) {
-                        System.out.println("Playback interrupted");
-                        return; // Exit if interrupted
-                    }
-                }
-                
-                // If we get here, the clip has finished naturally
-                System.out.println("Music finished, restarting...");
-                
-                // Small delay to prevent potential issues
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    // Ignore
-                }
-                
-                // The while loop in playAndRestart will call this method again
-            } catch (Exception e) {
-                System.out.println("Error in playFileWithAutoRestart: " + e.getMessage());
+                return clip;
             }
         }
     }
     
     /**
-     * Khusus untuk musik in-game, putar sekali dan otomatis replay ketika selesai
+     * Khusus untuk musik in-game, diulang terus sampai dihentikan
      */
     public void playInGameMusic() {
         if (!soundEnabled) return;
@@ -409,13 +416,13 @@ public class AudioPlayer {
         try {
             Sound sound = sounds.get(INGAME_SOUND);
             if (sound != null) {
-                sound.playAndRestart();
-                System.out.println("Playing in-game music with auto-restart");
+                sound.loop();
+                Log.info("Playing in-game music in a loop");
             } else {
-                System.out.println("In-game sound not found");
+                Log.warn("In-game sound not found");
             }
         } catch (Exception e) {
-            System.out.println("Error playing in-game music: " + e.getMessage());
+            Log.error("Error playing in-game music: {}", e.getMessage());
         }
     }
 }
@@ -0,0 +1,207 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool koneksi JDBC kecil dengan cache PreparedStatement per koneksi.
+ * Koneksi dibuat saat dibutuhkan, divalidasi jika sudah lama menganggur,
+ * dan dibuang jika rusak. Setelah koneksi gagal dibuat, pool menolak
+ * permintaan baru selama beberapa detik agar pemanggil tidak berulang kali
+ * menunggu timeout ketika server MySQL mati.
+ */
+public class ConnectionPool {
+    // Koneksi yang menganggur lebih lama dari ini divalidasi dulu sebelum dipakai
+    private static final long VALIDATE_AFTER_IDLE_MS = 30000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // Lama waktu pool menolak permintaan setelah gagal terhubung
+    private static final long FAILURE_BACKOFF_MS = 5000;
+
+    // Pembuat koneksi baru, disediakan oleh DatabaseManager
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final BlockingQueue<PooledConnection> idle;
+    private final ArrayList<PooledConnection> all = new ArrayList<>();
+    private int opening = 0; // Slot yang sudah dipesan untuk koneksi yang sedang dibuka; dijaga kunci all
+    private volatile long lastFailureTime = 0;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    // Pinjam koneksi; tunggu paling lama timeoutMs jika semua koneksi sedang dipakai
+    public PooledConnection borrow(long timeoutMs) throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool koneksi sudah ditutup");
+        }
+
+        PooledConnection pooled = idle.poll();
+        if (pooled == null) {
+            pooled = createIfBelowLimit();
+        }
+        if (pooled == null) {
+            try {
+                pooled = idle.poll(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Menunggu koneksi database terputus", e);
+            }
+            if (pooled == null) {
+                throw new SQLException("Tidak ada koneksi database yang tersedia dalam " + timeoutMs + " ms");
+            }
+        }
+
+        // Pastikan koneksi yang lama menganggur masih hidup
+        if (System.currentTimeMillis() - pooled.lastUsed > VALIDATE_AFTER_IDLE_MS) {
+            boolean valid;
+            try {
+                valid = pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                valid = false;
+            }
+            if (!valid) {
+                Log.warn("Koneksi database tidak valid, membuat yang baru");
+                discard(pooled);
+                return borrow(timeoutMs);
+            }
+        }
+        return pooled;
+    }
+
+    // Kembalikan koneksi ke pool; koneksi yang rusak harus dibuang dengan discard()
+    public void release(PooledConnection pooled) {
+        if (pooled == null) return;
+        pooled.lastUsed = System.currentTimeMillis();
+        if (closed || !idle.offer(pooled)) {
+            discard(pooled);
+        }
+    }
+
+    // Buang koneksi yang rusak sehingga slotnya bisa dipakai koneksi baru
+    public void discard(PooledConnection pooled) {
+        if (pooled == null) return;
+        synchronized (all) {
+            all.remove(pooled);
+        }
+        pooled.closeQuietly();
+    }
+
+    // Apakah pool sedang dalam masa jeda setelah gagal terhubung
+    public boolean isBackingOff() {
+        return System.currentTimeMillis() - lastFailureTime < FAILURE_BACKOFF_MS;
+    }
+
+    // Tutup semua koneksi
+    public void close() {
+        closed = true;
+        ArrayList<PooledConnection> toClose;
+        synchronized (all) {
+            toClose = new ArrayList<>(all);
+            all.clear();
+        }
+        idle.clear();
+        for (PooledConnection pooled : toClose) {
+            pooled.closeQuietly();
+        }
+    }
+
+    // Pesan slot di bawah kunci, lalu buka koneksi di luar kunci agar discard() dan close()
+    // tidak ikut menunggu timeout koneksi ke server
+    private PooledConnection createIfBelowLimit() throws SQLException {
+        synchronized (all) {
+            if (all.size() + opening >= maxSize) {
+                return null;
+            }
+            if (isBackingOff()) {
+                throw new SQLException("Server database tidak dapat dijangkau, mencoba lagi nanti");
+            }
+            opening++;
+        }
+
+        Connection connection = null;
+        try {
+            connection = factory.open();
+        } catch (SQLException e) {
+            lastFailureTime = System.currentTimeMillis();
+            throw e;
+        } finally {
+            if (connection == null) {
+                synchronized (all) {
+                    opening--;
+                }
+            }
+        }
+
+        PooledConnection pooled = new PooledConnection(connection);
+        synchronized (all) {
+            opening--;
+            // close() mungkin dipanggil selama koneksi dibuka; koneksi itu tidak boleh bocor
+            if (!closed) {
+                all.add(pooled);
+                return pooled;
+            }
+        }
+        pooled.closeQuietly();
+        throw new SQLException("Pool koneksi sudah ditutup");
+    }
+
+    /**
+     * Koneksi milik pool beserta cache PreparedStatement-nya.
+     * Statement yang didapat dari prepare() tidak boleh ditutup oleh pemanggil.
+     */
+    public static class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private long lastUsed = System.currentTimeMillis();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        // Ambil PreparedStatement dari cache atau siapkan yang baru
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        private void closeQuietly() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // Abaikan, koneksi tetap akan ditutup
+                }
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // Abaikan
+            }
+        }
+    }
+}
@@ -2,207 +2,482 @@ package model;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.io.File;
 
 public class DatabaseManager {
-    private Connection connection;
-    private PreparedStatement statement;
+    // Nama database dapat diganti dengan -Dazzam.db.name=... (misalnya database terpisah untuk benchmark)
+    private static final String DATABASE_NAME = databaseName(System.getProperty("azzam.db.name"));
+    private static final String SERVER_URL = "jdbc:mysql://localhost:3306/?connectTimeout=2000";
+    private static final String DATABASE_URL = "jdbc:mysql://localhost:3306/" + DATABASE_NAME + "?connectTimeout=2000&useAffectedRows=true";
+    private static final String DB_USER = "root";
+    private static final String DB_PASSWORD = "";
+    private static final int POOL_SIZE = 3;
+    private static final long BORROW_TIMEOUT_MS = 3000;
+    private static final int LEADERBOARD_PAGE_SIZE = 50;
+    // Kode kesalahan MySQL ER_DUP_KEYNAME (indeks sudah ada)
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    // Latensi penyimpanan dan query (termasuk menunggu koneksi dari pool) serta jumlah kegagalan SQL
+    private static final Metrics.Timer SAVE_TIMER = Metrics.timer("db.save");
+    private static final Metrics.Timer QUERY_TIMER = Metrics.timer("db.query");
+    private static final Metrics.Counter ERROR_COUNTER = Metrics.counter("db.errors");
+
+    // Satu pernyataan atomik: masukkan pemain baru atau simpan skor terbaik pemain lama.
+    // count harus diperbarui sebelum skor karena MySQL mengevaluasi assignment dari kiri ke kanan.
+    private static final String UPSERT_RESULT_SQL =
+            "INSERT INTO thasil (username, skor, count) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "count = IF(VALUES(skor) > skor, VALUES(count), count), " +
+            "skor = GREATEST(skor, VALUES(skor))";
+
+    // Halaman papan skor dengan keyset pagination pada (skor, username); memakai idx_thasil_skor
+    private static final String TOP_RESULTS_SQL =
+            "SELECT username, skor, count FROM thasil " +
+            "ORDER BY skor DESC, username DESC LIMIT ?";
+    private static final String RESULTS_AFTER_SQL =
+            "SELECT username, skor, count FROM thasil " +
+            "WHERE skor < ? OR (skor = ? AND username < ?) " +
+            "ORDER BY skor DESC, username DESC LIMIT ?";
+    private static final String PLAYER_RESULT_SQL =
+            "SELECT username, skor, count FROM thasil WHERE username = ?";
+
+    private ConnectionPool pool;
+    private boolean driverLoaded = false;
+    private volatile boolean databaseCreated = false;
+    private volatile boolean schemaCreated = false;
+    // Papan skor di memori, dimuat sekali lalu diperbarui setiap penyimpanan berhasil
+    private final LeaderboardCache leaderboard = new LeaderboardCache();
+    // Satu thread penulis agar penyimpanan tidak pernah berjalan di EDT dan tidak saling balapan
+    private final ExecutorService writer;
     private static DatabaseManager instance;    // Konstruktor - private untuk pola Singleton
     private DatabaseManager() {
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DatabaseWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
         try {            // Memeriksa apakah file JAR MySQL connector ada
             File jarFile = new File("lib/mysql-connector-j-9.2.0.jar");
             if (!jarFile.exists()) {
-                System.out.println("Peringatan: MySQL connector JAR tidak ditemukan di: " + jarFile.getAbsolutePath());
-                System.out.println("Memeriksa classpath...");
+                Log.warn("Peringatan: MySQL connector JAR tidak ditemukan di: {}, memeriksa classpath...",
+                        jarFile.getAbsolutePath());
             }
-            
+
             // Memuat JDBC driver MySQL secara eksplisit
             try {
                 Class.forName("com.mysql.cj.jdbc.Driver");
-                System.out.println("MySQL JDBC driver berhasil dimuat!");
+                driverLoaded = true;
+                Log.info("MySQL JDBC driver berhasil dimuat!");
             } catch (ClassNotFoundException e) {
-                System.out.println("ERROR: MySQL JDBC driver tidak ditemukan dalam classpath.");
-                System.out.println("Pastikan mysql-connector-j-9.2.0.jar telah ditambahkan dengan benar ke dependensi proyek Anda.");
-                e.printStackTrace();
+                Log.error("ERROR: MySQL JDBC driver tidak ditemukan dalam classpath. "
+                        + "Pastikan mysql-connector-j-9.2.0.jar telah ditambahkan dengan benar ke dependensi proyek Anda.", e);
                 return; // Keluar dari konstruktor karena tidak dapat melanjutkan tanpa driver
             }
-              // Mencoba menjalin koneksi
-            try {
-                // Pertama, periksa apakah server dapat dijangkau
-                Connection serverConn = DriverManager.getConnection("jdbc:mysql://localhost:3306/", "root", "");
-                System.out.println("Berhasil terhubung ke server MySQL!");
-                
-                // Buat database jika belum ada
-                Statement stmt = serverConn.createStatement();
-                stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS azzam_love_db");
-                
-                // Tutup koneksi server
-                stmt.close();
-                serverConn.close();
-                
-                // Hubungkan ke database tertentu
-                connection = DriverManager.getConnection("jdbc:mysql://localhost:3306/azzam_love_db", "root", "");
-                System.out.println("Koneksi database berhasil dibuat ke azzam_love_db");
-            } catch (SQLException e) {
-                System.out.println("Kesalahan koneksi database: " + e.getMessage());
-                System.out.println("Pastikan server MySQL Anda berjalan dan dapat diakses.");
-                e.printStackTrace();
-            }
+
+            // Koneksi dibuat oleh pool saat pertama kali dibutuhkan
+            pool = new ConnectionPool(this::openConnection, POOL_SIZE);
         } catch (Exception e) {
-            System.out.println("Unexpected error in DatabaseManager: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Unexpected error in DatabaseManager: {}", e.getMessage(), e);
         }
-    }    // Pola Singleton untuk memastikan hanya ada satu koneksi database
+    }    // Pola Singleton; koneksi yang terputus ditangani oleh pool, bukan dengan membuat instance baru
     public static synchronized DatabaseManager getInstance() {
         if (instance == null) {
             instance = new DatabaseManager();
-        } else {
-            // Periksa apakah koneksi masih aktif
+        }
+        return instance;
+    }
+
+    // Buat koneksi baru untuk pool (membuat database terlebih dahulu jika belum ada)
+    private Connection openConnection() throws SQLException {
+        if (!databaseCreated) {
+            // Pertama, periksa apakah server dapat dijangkau dan buat database jika belum ada
+            try (Connection serverConn = DriverManager.getConnection(SERVER_URL, DB_USER, DB_PASSWORD);
+                 Statement stmt = serverConn.createStatement()) {
+                Log.info("Berhasil terhubung ke server MySQL!");
+                stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DATABASE_NAME);
+                databaseCreated = true;
+            } catch (SQLException e) {
+                Log.error("Kesalahan koneksi database: {}. Pastikan server MySQL Anda berjalan dan dapat diakses.",
+                        e.getMessage());
+                throw e;
+            }
+        }
+
+        // Hubungkan ke database tertentu
+        Connection connection = DriverManager.getConnection(DATABASE_URL, DB_USER, DB_PASSWORD);
+        Log.info("Koneksi database berhasil dibuat ke {}", DATABASE_NAME);
+
+        // Tabel dibuat pada koneksi pertama yang berhasil, sehingga server MySQL yang baru
+        // menyala setelah aplikasi dimulai tetap mendapat skemanya; jika gagal, dicoba lagi
+        // pada koneksi baru berikutnya
+        if (!schemaCreated) {
             try {
-                if (instance.connection == null || instance.connection.isClosed()) {
-                    System.out.println("Koneksi database telah ditutup, membuat yang baru");
-                    instance = new DatabaseManager();
-                }
+                createSchema(connection);
             } catch (SQLException e) {
-                System.out.println("Kesalahan memeriksa koneksi database: " + e.getMessage());
-                // Coba buat instance baru
-                instance = new DatabaseManager();
+                ERROR_COUNTER.increment();
+                Log.error("Kesalahan inisialisasi database: {}", e.getMessage());
             }
         }
-        return instance;
+        return connection;
     }
-      // Buat tabel jika belum ada
-    public void initializeDatabase() {
-        if (connection == null) {
-            System.out.println("Tidak dapat menginisialisasi database - tidak ada koneksi tersedia");
-            return;
+
+    // Nama database dipakai langsung di SQL, jadi hanya huruf, angka dan garis bawah yang diterima
+    private static String databaseName(String name) {
+        if (name == null || !name.matches("[A-Za-z0-9_]+")) {
+            return "azzam_love_db";
+        }
+        return name;
+    }
+
+    // Pinjam koneksi dari pool
+    private ConnectionPool.PooledConnection borrow() throws SQLException {
+        if (pool == null) {
+            throw new SQLException("MySQL JDBC driver tidak tersedia");
         }
-        
         try {
-            String createTableSQL = "CREATE TABLE IF NOT EXISTS thasil (" +
-                    "username VARCHAR(100) PRIMARY KEY," +
-                    "skor INT NOT NULL," +
-                    "count INT NOT NULL" +
-                    ")";
-            statement = connection.prepareStatement(createTableSQL);
-            statement.executeUpdate();
-            System.out.println("Tabel database berhasil diinisialisasi");
+            return pool.borrow(BORROW_TIMEOUT_MS);
+        } catch (SQLException e) {
+            ERROR_COUNTER.increment();
+            throw e;
+        }
+    }
+
+    // Periksa apakah database kemungkinan dapat dipakai (driver ada dan server tidak sedang gagal)
+    public boolean isAvailable() {
+        return driverLoaded && pool != null && !pool.isBackingOff();
+    }
+      // Pastikan tabel ada; biasanya sudah dibuat oleh openConnection saat pool membuka koneksi
+    public void initializeDatabase() {
+        ConnectionPool.PooledConnection pooled = null;
+        try {
+            pooled = borrow();
+            if (!schemaCreated) {
+                createSchema(pooled.getConnection());
+            }
         } catch (SQLException e) {
-            System.out.println("Kesalahan inisialisasi database: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Kesalahan inisialisasi database: {}", e.getMessage());
+            discardOnFailure(pooled, e);
+            pooled = null;
+        } finally {
+            release(pooled);
+        }
+    }
+
+    // Buat tabel dan indeks jika belum ada (aman dijalankan berulang kali)
+    private void createSchema(Connection connection) throws SQLException {
+        String createTableSQL = "CREATE TABLE IF NOT EXISTS thasil (" +
+                "username VARCHAR(100) PRIMARY KEY," +
+                "skor INT NOT NULL," +
+                "count INT NOT NULL" +
+                ")";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createTableSQL);
+            
+            // Indeks sekunder untuk papan skor (MySQL tidak punya CREATE INDEX IF NOT EXISTS)
+            try {
+                statement.executeUpdate("CREATE INDEX idx_thasil_skor ON thasil (skor, username)");
+                Log.info("Indeks idx_thasil_skor dibuat");
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_DUP_KEYNAME) {
+                    throw e;
+                }
+            }
         }
+        schemaCreated = true;
+        Log.info("Tabel database berhasil diinisialisasi");
     }    // Dapatkan semua hasil pemain
     public ArrayList<PlayerResult> getAllResults() {
-        ArrayList<PlayerResult> results = new ArrayList<>();
-        
-        if (connection == null) {
-            System.out.println("Tidak dapat mendapatkan hasil - tidak ada koneksi tersedia");
-            return results;
+        try {
+            return queryAllResults();
+        } catch (SQLException e) {
+            Log.error("Error getting results: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Papan skor yang di-cache, tanpa query; isinya dimuat dengan loadLeaderboardAsync()
+    public LeaderboardCache getLeaderboard() {
+        return leaderboard;
+    }
+
+    // Muat halaman pertama papan skor di thread penulis jika belum pernah berhasil.
+    // Penyimpanan berjalan di thread yang sama, jadi halaman yang dibaca tidak dapat menimpa
+    // pembaruan dari penyimpanan lain; cache hanya dikunci sebentar oleh appendPage
+    public CompletableFuture<LeaderboardCache> loadLeaderboardAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!leaderboard.isLoaded()) {
+                try {
+                    ArrayList<PlayerResult> page = getTopResults(LEADERBOARD_PAGE_SIZE + 1);
+                    boolean morePages = page.size() > LEADERBOARD_PAGE_SIZE;
+                    if (morePages) {
+                        page.remove(page.size() - 1);
+                    }
+                    leaderboard.appendPage(page, morePages);
+                    Log.info("Halaman pertama papan skor dimuat: {} pemain", page.size());
+                } catch (SQLException e) {
+                    Log.error("Error loading leaderboard: {}", e.getMessage());
+                }
+            }
+            return leaderboard;
+        }, writer);
+    }
+
+    // Muat halaman papan skor berikutnya di thread penulis; future berisi jumlah baris baru.
+    // Query berjalan tanpa memegang kunci cache, sehingga EDT tetap dapat membaca baris yang ada
+    public CompletableFuture<Integer> loadNextLeaderboardPageAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            PlayerResult last = leaderboard.getLastLoaded();
+            if (!leaderboard.hasMore() || last == null) {
+                return 0;
+            }
+            try {
+                ArrayList<PlayerResult> page = getResultsAfter(last, LEADERBOARD_PAGE_SIZE + 1);
+                boolean morePages = page.size() > LEADERBOARD_PAGE_SIZE;
+                if (morePages) {
+                    page.remove(page.size() - 1);
+                }
+                // Hanya thread ini yang mengubah cache, jadi selisih ukuran adalah baris dari halaman ini
+                int before = leaderboard.size();
+                leaderboard.appendPage(page, morePages);
+                return leaderboard.size() - before;
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, writer);
+    }
+
+    // Cari hasil satu pemain: dari cache jika ada, jika tidak dengan satu query primary key
+    public PlayerResult findPlayerResult(String username) {
+        PlayerResult cached = leaderboard.get(username);
+        if (cached != null) {
+            return cached;
         }
-        
         try {
-            String query = "SELECT * FROM thasil ORDER BY skor DESC";
-            statement = connection.prepareStatement(query);
-            ResultSet rs = statement.executeQuery();
-            
+            PlayerResult result = getPlayerResult(username);
+            if (result != null) {
+                leaderboard.remember(result);
+            }
+            return result;
+        } catch (SQLException e) {
+            Log.error("Error getting player result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Versi asinkron findPlayerResult untuk EDT: hasil cache langsung, query primary key di thread penulis
+    public CompletableFuture<PlayerResult> findPlayerResultAsync(String username) {
+        PlayerResult cached = leaderboard.get(username);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> findPlayerResult(username), writer);
+    }
+
+    // N hasil teratas
+    public ArrayList<PlayerResult> getTopResults(int limit) throws SQLException {
+        long start = System.nanoTime();
+        ConnectionPool.PooledConnection pooled = borrow();
+        try {
+            PreparedStatement statement = pooled.prepare(TOP_RESULTS_SQL);
+            statement.setInt(1, limit);
+            return readResults(statement);
+        } catch (SQLException e) {
+            discardOnFailure(pooled, e);
+            pooled = null;
+            throw e;
+        } finally {
+            release(pooled);
+            QUERY_TIMER.recordSince(start);
+        }
+    }
+
+    // N hasil berikutnya setelah hasil tertentu (keyset pagination, tanpa OFFSET)
+    public ArrayList<PlayerResult> getResultsAfter(PlayerResult last, int limit) throws SQLException {
+        long start = System.nanoTime();
+        ConnectionPool.PooledConnection pooled = borrow();
+        try {
+            PreparedStatement statement = pooled.prepare(RESULTS_AFTER_SQL);
+            statement.setInt(1, last.getSkor());
+            statement.setInt(2, last.getSkor());
+            statement.setString(3, last.getUsername());
+            statement.setInt(4, limit);
+            return readResults(statement);
+        } catch (SQLException e) {
+            discardOnFailure(pooled, e);
+            pooled = null;
+            throw e;
+        } finally {
+            release(pooled);
+            QUERY_TIMER.recordSince(start);
+        }
+    }
+
+    // Hasil satu pemain berdasarkan primary key; null jika belum pernah bermain
+    public PlayerResult getPlayerResult(String username) throws SQLException {
+        long start = System.nanoTime();
+        ConnectionPool.PooledConnection pooled = borrow();
+        try {
+            PreparedStatement statement = pooled.prepare(PLAYER_RESULT_SQL);
+            statement.setString(1, username);
+            ArrayList<PlayerResult> results = readResults(statement);
+            return results.isEmpty() ? null : results.get(0);
+        } catch (SQLException e) {
+            discardOnFailure(pooled, e);
+            pooled = null;
+            throw e;
+        } finally {
+            release(pooled);
+            QUERY_TIMER.recordSince(start);
+        }
+    }
+
+    private static ArrayList<PlayerResult> readResults(PreparedStatement statement) throws SQLException {
+        ArrayList<PlayerResult> results = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
             while (rs.next()) {
-                String username = rs.getString("username");
-                int skor = rs.getInt("skor");
-                int count = rs.getInt("count");
-                
-                results.add(new PlayerResult(username, skor, count));
+                results.add(new PlayerResult(rs.getString("username"), rs.getInt("skor"), rs.getInt("count")));
+            }
+        }
+        return results;
+    }
+
+    // Versi asinkron dari getAllResults; dijalankan setelah semua penyimpanan yang tertunda selesai
+    public CompletableFuture<ArrayList<PlayerResult>> getAllResultsAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return queryAllResults();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, writer);
+    }
+
+    private ArrayList<PlayerResult> queryAllResults() throws SQLException {
+        ArrayList<PlayerResult> results = new ArrayList<>();
+        long start = System.nanoTime();
+        ConnectionPool.PooledConnection pooled = borrow();
+        try {
+            PreparedStatement statement = pooled.prepare("SELECT * FROM thasil ORDER BY skor DESC");
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String username = rs.getString("username");
+                    int skor = rs.getInt("skor");
+                    int count = rs.getInt("count");
+
+                    results.add(new PlayerResult(username, skor, count));
+                }
             }
         } catch (SQLException e) {
-            System.out.println("Error getting results: " + e.getMessage());
-            e.printStackTrace();
+            discardOnFailure(pooled, e);
+            pooled = null;
+            throw e;
+        } finally {
+            release(pooled);
+            QUERY_TIMER.recordSince(start);
         }
-        
         return results;
     }    // Simpan hasil pemain (masukkan yang baru atau perbarui jika sudah ada)
     public void savePlayerResult(PlayerResult playerResult) {
-        if (connection == null) {
-            System.out.println("Tidak dapat menyimpan hasil - tidak ada koneksi tersedia, mencoba untuk terhubung kembali...");
+        try {
+            writePlayerResult(playerResult);
+        } catch (SQLException e) {
+            Log.error("Error saving player result: {}", e.getMessage(), e);
+        }
+    }
+
+    // Simpan hasil pemain di thread penulis latar belakang; future gagal jika penyimpanan gagal
+    public CompletableFuture<Void> savePlayerResultAsync(PlayerResult playerResult) {
+        // Salin data agar perubahan objek oleh pemanggil tidak ikut tersimpan
+        PlayerResult copy = new PlayerResult(playerResult.getUsername(), playerResult.getSkor(), playerResult.getCount());
+        return CompletableFuture.runAsync(() -> {
             try {
-                // Coba terhubung kembali
-                connection = DriverManager.getConnection("jdbc:mysql://localhost:3306/azzam_love_db", "root", "");
-                System.out.println("Berhasil terhubung kembali ke database");
-            } catch (SQLException reconnectEx) {
-                System.out.println("Gagal terhubung kembali ke database: " + reconnectEx.getMessage());
-                return;
+                writePlayerResult(copy);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
             }
-        }
-        
+        }, writer);
+    }
+
+    private void writePlayerResult(PlayerResult playerResult) throws SQLException {
+        long start = System.nanoTime();
+        ConnectionPool.PooledConnection pooled = borrow();
         try {
-            // Make sure the table exists
-            initializeDatabase();
               // Cetak informasi debugging
-            System.out.println("===== OPERASI PENYIMPANAN DATABASE =====");
-            System.out.println("Menyimpan pemain: " + playerResult.getUsername());
-            System.out.println("Skor: " + playerResult.getSkor());
-            System.out.println("Hati: " + playerResult.getCount());
-              // Periksa apakah username sudah ada
-            String checkQuery = "SELECT * FROM thasil WHERE username = ?";
-            statement = connection.prepareStatement(checkQuery);
+            Log.debug("Menyimpan pemain: {} (skor {}, hati {})",
+                    playerResult.getUsername(), playerResult.getSkor(), playerResult.getCount());
+
+            PreparedStatement statement = pooled.prepare(UPSERT_RESULT_SQL);
             statement.setString(1, playerResult.getUsername());
-            ResultSet rs = statement.executeQuery();
-            
-            if (rs.next()) {
-                // Dapatkan skor dan hati yang ada
-                int existingSkor = rs.getInt("skor");
-                int existingHearts = rs.getInt("count");
-                  System.out.println("Pemain sudah ada dalam database");
-                System.out.println("Skor yang ada: " + existingSkor);
-                System.out.println("Hati yang ada: " + existingHearts);
-                
-                // Hanya perbarui jika skor baru lebih tinggi
-                if (playerResult.getSkor() > existingSkor) {
-                    // Perbarui catatan yang ada dengan skor yang lebih tinggi
-                    String updateQuery = "UPDATE thasil SET skor = ?, count = ? WHERE username = ?";
-                    statement = connection.prepareStatement(updateQuery);
-                    statement.setInt(1, playerResult.getSkor());
-                    statement.setInt(2, playerResult.getCount());
-                    statement.setString(3, playerResult.getUsername());
-                    
-                    int rowsAffected = statement.executeUpdate();
-                    System.out.println("Catatan diperbarui! Baris yang terpengaruh: " + rowsAffected);
-                    System.out.println("Memperbarui catatan pemain: " + playerResult.getUsername() + 
-                                    " dengan skor lebih tinggi: " + playerResult.getSkor() + 
-                                    " (sebelumnya: " + existingSkor + ")");
-                } else {
-                    // Tidak perlu pembaruan
-                    System.out.println("Tidak perlu pembaruan - skor saat ini lebih baik");
-                }            } else {
-                // Masukkan catatan baru
-                String insertQuery = "INSERT INTO thasil (username, skor, count) VALUES (?, ?, ?)";
-                statement = connection.prepareStatement(insertQuery);
-                statement.setString(1, playerResult.getUsername());
-                statement.setInt(2, playerResult.getSkor());
-                statement.setInt(3, playerResult.getCount());
-                
-                int rowsAffected = statement.executeUpdate();
-                System.out.println("Catatan baru dibuat! Baris yang terpengaruh: " + rowsAffected);
-                System.out.println("Memasukkan catatan pemain baru: " + playerResult.getUsername() + 
-                                " dengan skor: " + playerResult.getSkor());
-            }
-            System.out.println("===== OPERASI DATABASE SELESAI =====");
+            statement.setInt(2, playerResult.getSkor());
+            statement.setInt(3, playerResult.getCount());
+
+            // Dengan useAffectedRows=true: 1 = baris baru, 2 = skor diperbarui, 0 = tidak berubah
+            int rowsAffected = statement.executeUpdate();
+            if (rowsAffected == 1) {
+                Log.info("Memasukkan catatan pemain baru: {} dengan skor: {}",
+                        playerResult.getUsername(), playerResult.getSkor());
+            } else if (rowsAffected == 2) {
+                Log.info("Memperbarui catatan pemain: {} dengan skor lebih tinggi: {}",
+                        playerResult.getUsername(), playerResult.getSkor());
+            } else {
+                // Tidak perlu pembaruan
+                Log.info("Tidak perlu pembaruan - skor saat ini lebih baik");
+            }
+
+            // Perbarui cache papan skor di tempat tanpa membaca ulang tabel
+            leaderboard.update(playerResult);
         } catch (SQLException e) {
-            System.out.println("Error saving player result: " + e.getMessage());
-            e.printStackTrace();
+            discardOnFailure(pooled, e);
+            pooled = null;
+            throw e;
+        } finally {
+            release(pooled);
+            SAVE_TIMER.recordSince(start);
+        }
+    }
+
+    // Buang koneksi jika kesalahan berasal dari koneksi yang rusak (SQLState kelas 08)
+    private void discardOnFailure(ConnectionPool.PooledConnection pooled, SQLException e) {
+        ERROR_COUNTER.increment();
+        if (pooled == null) return;
+        String state = e.getSQLState();
+        boolean connectionBroken = state != null && state.startsWith("08");
+        try {
+            connectionBroken |= pooled.getConnection().isClosed();
+        } catch (SQLException ignored) {
+            connectionBroken = true;
+        }
+        if (connectionBroken) {
+            pool.discard(pooled);
+        } else {
+            pool.release(pooled);
+        }
+    }
+
+    private void release(ConnectionPool.PooledConnection pooled) {
+        if (pooled != null) {
+            pool.release(pooled);
         }
     }
-      // Tutup koneksi saat aplikasi keluar
+      // Tutup koneksi saat aplikasi keluar (menunggu sebentar agar penyimpanan yang tertunda selesai)
     public void closeConnection() {
+        writer.shutdown();
         try {
-            if (statement != null) {
-                statement.close();
-            }
-            if (connection != null) {
-                connection.close();
-                System.out.println("Koneksi database ditutup");
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                Log.warn("Penyimpanan database belum selesai saat ditutup");
             }
-        } catch (SQLException e) {
-            System.out.println("Kesalahan menutup koneksi: " + e.getMessage());
-            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pool != null) {
+            pool.close();
+            Log.info("Koneksi database ditutup");
         }
     }
 }
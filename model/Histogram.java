@@ -0,0 +1,116 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram nilai long non-negatif dengan bucket log-linear ala HdrHistogram.
+ * Nilai 0..63 disimpan tepat; di atasnya setiap rentang pangkat dua dibagi
+ * menjadi 32 bucket sama lebar, sehingga persentil memiliki galat relatif
+ * paling besar sekitar 3%. record() hanya menambah satu elemen AtomicLongArray
+ * (tanpa kunci dan tanpa alokasi), jadi aman dipanggil dari banyak thread
+ * di jalur panas seperti loop permainan.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int EXACT_LIMIT = SUB_BUCKETS * 2;
+    // Bucket tepat 0..63 ditambah 32 bucket untuk setiap pangkat dua 2^6..2^62
+    private static final int BUCKET_COUNT = EXACT_LIMIT + (63 - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    // Tambahkan semua nilai dari histogram lain (misalnya hasil beberapa thread simulasi)
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucket = other.counts.get(i);
+            if (bucket != 0) {
+                counts.addAndGet(i, bucket);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        long otherMax = other.max.get();
+        long currentMax = max.get();
+        while (otherMax > currentMax && !max.compareAndSet(currentMax, otherMax)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    // Nilai (batas atas bucket) yang tidak dilampaui oleh percentile persen dari seluruh nilai
+    public long valueAtPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueInBucket(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // Tidak atomik terhadap record() yang berjalan bersamaan; cukup untuk memulai jendela pengukuran baru
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return EXACT_LIMIT + (exponent - 6) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int offset = index - EXACT_LIMIT;
+        int exponent = 6 + offset / SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (long) (SUB_BUCKETS + offset % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
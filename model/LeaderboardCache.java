@@ -0,0 +1,164 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cache papan skor di memori. Berisi awalan (prefix) papan skor yang sudah
+ * dimuat per halaman dari database dalam urutan peringkat, ditambah peta
+ * username ke hasil untuk pencarian O(1). Cache diperbarui di tempat setiap
+ * kali penyimpanan berhasil, sehingga menu tidak perlu membaca ulang tabel.
+ */
+public class LeaderboardCache {
+    // Urutan papan skor, sama dengan ORDER BY skor DESC, username DESC di database
+    // (username dibandingkan tanpa membedakan huruf besar/kecil seperti collation default MySQL)
+    static final Comparator<PlayerResult> RANKING =
+            Comparator.comparingInt(PlayerResult::getSkor)
+                    .thenComparing(PlayerResult::getUsername, String.CASE_INSENSITIVE_ORDER)
+                    .reversed();
+
+    // Awalan papan skor yang sudah dimuat, selalu terurut sesuai RANKING
+    private final ArrayList<PlayerResult> ranking = new ArrayList<>();
+    // Semua pemain yang diketahui (termasuk hasil pencarian tunggal di luar awalan), dengan kunci dari key()
+    private final HashMap<String, PlayerResult> byUsername = new HashMap<>();
+    private boolean loaded = false;
+    private boolean hasMore = false;
+
+    // Tambahkan satu halaman hasil dari database ke akhir awalan
+    public synchronized void appendPage(List<PlayerResult> page, boolean morePages) {
+        for (PlayerResult result : page) {
+            PlayerResult known = byUsername.get(key(result.getUsername()));
+            if (known != null && known.getSkor() > result.getSkor()) {
+                // Cache sudah punya skor yang lebih baru dari halaman ini
+                if (indexOf(known) < 0) {
+                    insertSorted(known);
+                }
+                continue;
+            }
+            if (known != null) {
+                removeSorted(known);
+            }
+            PlayerResult copy = copyOf(result);
+            insertSorted(copy);
+            byUsername.put(key(copy.getUsername()), copy);
+        }
+        hasMore = morePages;
+        loaded = true;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    // Apakah masih ada halaman di database setelah awalan yang dimuat
+    public synchronized boolean hasMore() {
+        return hasMore;
+    }
+
+    // Hasil terakhir di awalan, dipakai sebagai kunci keyset untuk halaman berikutnya
+    public synchronized PlayerResult getLastLoaded() {
+        return ranking.isEmpty() ? null : copyOf(ranking.get(ranking.size() - 1));
+    }
+
+    // Terapkan hasil permainan dengan aturan yang sama seperti di database: simpan skor terbaik.
+    // Pemain yang belum ada di cache hanya disimpan jika skor terbaiknya pasti diketahui
+    public synchronized void update(PlayerResult result) {
+        if (!loaded) {
+            return; // Halaman pertama belum dimuat; pemuatan nanti membaca skor terbaru dari database
+        }
+        PlayerResult existing = byUsername.get(key(result.getUsername()));
+        boolean wasInPrefix = false;
+        String username = result.getUsername();
+        if (existing != null) {
+            if (result.getSkor() <= existing.getSkor()) {
+                return; // Skor lama lebih baik, tidak ada perubahan
+            }
+            wasInPrefix = indexOf(existing) >= 0;
+            removeSorted(existing);
+            // Database menyimpan penulisan nama dari baris pertama, jadi penulisan lama dipertahankan
+            username = existing.getUsername();
+        }
+
+        PlayerResult copy = new PlayerResult(username, result.getSkor(), result.getCount());
+        // Hanya masukkan ke awalan jika peringkatnya berada di dalam bagian yang sudah dimuat
+        // (skor yang naik tetap berada di awalan jika skor lamanya sudah ada di sana)
+        boolean inPrefix = wasInPrefix || !hasMore
+                || (!ranking.isEmpty() && RANKING.compare(copy, ranking.get(ranking.size() - 1)) < 0);
+        if (inPrefix) {
+            insertSorted(copy);
+        } else if (existing == null) {
+            // Database mungkin punya skor lebih tinggi untuk pemain ini di halaman yang belum dimuat
+            // (GREATEST(skor, VALUES(skor))), jadi jangan simpan skor yang mungkin lebih rendah
+            return;
+        }
+        byUsername.put(key(username), copy);
+    }
+
+    // Simpan hasil pencarian tunggal tanpa memasukkannya ke awalan papan skor
+    public synchronized void remember(PlayerResult result) {
+        PlayerResult existing = byUsername.get(key(result.getUsername()));
+        if (existing == null || existing.getSkor() < result.getSkor()) {
+            byUsername.put(key(result.getUsername()), copyOf(result));
+        }
+    }
+
+    // Cari hasil pemain berdasarkan username (O(1)); null jika tidak ada di cache
+    public synchronized PlayerResult get(String username) {
+        PlayerResult result = byUsername.get(key(username));
+        return result != null ? copyOf(result) : null;
+    }
+
+    // Hasil pada peringkat tertentu di awalan yang dimuat (O(1))
+    public synchronized PlayerResult getRow(int index) {
+        return index >= 0 && index < ranking.size() ? copyOf(ranking.get(index)) : null;
+    }
+
+    // Semua hasil di awalan yang dimuat dalam urutan papan skor
+    public synchronized ArrayList<PlayerResult> getSortedResults() {
+        ArrayList<PlayerResult> results = new ArrayList<>(ranking.size());
+        for (PlayerResult result : ranking) {
+            results.add(copyOf(result));
+        }
+        return results;
+    }
+
+    // Jumlah baris di awalan yang dimuat
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    // Posisi hasil di awalan dengan binary search; negatif jika tidak ada
+    private int indexOf(PlayerResult result) {
+        return Collections.binarySearch(ranking, result, RANKING);
+    }
+
+    // Sisipkan di posisi yang benar dengan binary search
+    private void insertSorted(PlayerResult result) {
+        int index = indexOf(result);
+        if (index < 0) {
+            ranking.add(-index - 1, result);
+        }
+    }
+
+    private void removeSorted(PlayerResult result) {
+        int index = indexOf(result);
+        if (index >= 0) {
+            ranking.remove(index);
+        }
+    }
+
+    // Kunci peta username: tanpa membedakan huruf besar/kecil, sama dengan primary key di database
+    // (collation default MySQL) dan dengan RANKING
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    // Salinan agar objek di dalam cache tidak bisa diubah dari luar (akan merusak urutan)
+    private static PlayerResult copyOf(PlayerResult result) {
+        return new PlayerResult(result.getUsername(), result.getSkor(), result.getCount());
+    }
+}
@@ -0,0 +1,321 @@
+package model;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger asinkron dengan level untuk seluruh aplikasi.
+ *
+ * Pesan memakai placeholder {} dan baru diformat oleh thread penulis, jadi
+ * pemanggil hanya menyimpan format dan argumennya ke ring buffer lock-free
+ * (antrean terbatas multi-produsen ala Vyukov) lalu langsung kembali; I/O
+ * konsol tidak pernah menahan EDT, thread loop, maupun thread audio.
+ * Pesan di bawah level aktif dibuang sebelum apa pun disimpan. Jika buffer
+ * penuh, pesan dibuang dan jumlahnya dilaporkan, bukan membuat pemanggil
+ * menunggu. Level diatur dengan -Dazzam.log.level=DEBUG|INFO|WARN|ERROR|OFF
+ * (default INFO).
+ *
+ * Argumen primitif tetap di-box sebelum level diperiksa; pada jalur yang
+ * sangat sering dipanggil, bungkus dengan isDebugEnabled().
+ */
+public final class Log {
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int CAPACITY = 4096; // Kelipatan dua
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_WAIT_NANOS = 5000000;
+
+    // Satu pesan di ring buffer; sequence menandai slot kosong atau sudah terisi
+    private static final class Slot {
+        volatile long sequence;
+        Level level;
+        long time;
+        String thread;
+        String format;
+        Object[] args;
+        Object arg0;
+        Object arg1;
+        Object arg2;
+        int argCount;
+    }
+
+    private static final Level LEVEL = parseLevel(System.getProperty("azzam.log.level"));
+    private static final Slot[] slots = new Slot[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static long head = 0; // Hanya dipakai thread penulis
+    private static final Thread writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        writer = new Thread(Log::drainLoop, "Logger");
+        writer.setDaemon(true);
+        writer.setPriority(Thread.MIN_PRIORITY);
+        writer.start();
+        // Tulis sisa pesan sebelum JVM berhenti
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "Logger-flush"));
+        } catch (IllegalStateException e) {
+            // Kelas ini pertama kali dipakai saat JVM sudah berhenti; pemanggil flush sendiri
+        }
+    }
+
+    private Log() {
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(LEVEL) >= 0 && level != Level.OFF;
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public static void debug(String format) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, format, 0, null, null, null, null);
+        }
+    }
+
+    public static void debug(String format, Object arg0) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, format, 1, arg0, null, null, null);
+        }
+    }
+
+    public static void debug(String format, Object arg0, Object arg1) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, format, 2, arg0, arg1, null, null);
+        }
+    }
+
+    public static void debug(String format, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, format, 3, arg0, arg1, arg2, null);
+        }
+    }
+
+    public static void debug(String format, Object... args) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, format, args.length, null, null, null, args);
+        }
+    }
+
+    public static void info(String format) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, format, 0, null, null, null, null);
+        }
+    }
+
+    public static void info(String format, Object arg0) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, format, 1, arg0, null, null, null);
+        }
+    }
+
+    public static void info(String format, Object arg0, Object arg1) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, format, 2, arg0, arg1, null, null);
+        }
+    }
+
+    public static void info(String format, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, format, 3, arg0, arg1, arg2, null);
+        }
+    }
+
+    public static void info(String format, Object... args) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, format, args.length, null, null, null, args);
+        }
+    }
+
+    public static void warn(String format) {
+        if (isEnabled(Level.WARN)) {
+            enqueue(Level.WARN, format, 0, null, null, null, null);
+        }
+    }
+
+    public static void warn(String format, Object arg0) {
+        if (isEnabled(Level.WARN)) {
+            enqueue(Level.WARN, format, 1, arg0, null, null, null);
+        }
+    }
+
+    public static void warn(String format, Object arg0, Object arg1) {
+        if (isEnabled(Level.WARN)) {
+            enqueue(Level.WARN, format, 2, arg0, arg1, null, null);
+        }
+    }
+
+    public static void warn(String format, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            enqueue(Level.WARN, format, 3, arg0, arg1, arg2, null);
+        }
+    }
+
+    public static void error(String format) {
+        if (isEnabled(Level.ERROR)) {
+            enqueue(Level.ERROR, format, 0, null, null, null, null);
+        }
+    }
+
+    // Argumen terakhir yang berupa Throwable dan tidak dipakai placeholder dicetak beserta stack trace
+    public static void error(String format, Object arg0) {
+        if (isEnabled(Level.ERROR)) {
+            enqueue(Level.ERROR, format, 1, arg0, null, null, null);
+        }
+    }
+
+    public static void error(String format, Object arg0, Object arg1) {
+        if (isEnabled(Level.ERROR)) {
+            enqueue(Level.ERROR, format, 2, arg0, arg1, null, null);
+        }
+    }
+
+    public static void error(String format, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) {
+            enqueue(Level.ERROR, format, 3, arg0, arg1, arg2, null);
+        }
+    }
+
+    private static void enqueue(Level level, String format, int argCount,
+                                Object arg0, Object arg1, Object arg2, Object[] args) {
+        // Klaim slot: gagal (pesan dibuang) jika penulis belum mengosongkan slot tersebut
+        Slot slot;
+        long position = tail.get();
+        while (true) {
+            slot = slots[(int) position & MASK];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        slot.level = level;
+        slot.time = System.currentTimeMillis();
+        slot.thread = Thread.currentThread().getName();
+        slot.format = format;
+        slot.argCount = argCount;
+        slot.arg0 = arg0;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.args = args;
+        // Terbitkan slot ke penulis
+        slot.sequence = position + 1;
+    }
+
+    private static void drainLoop() {
+        PrintStream out = System.out;
+        StringBuilder line = new StringBuilder(256);
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        Date date = new Date();
+        while (true) {
+            if (!drain(out, line, timeFormat, date)) {
+                LockSupport.parkNanos(IDLE_WAIT_NANOS);
+            }
+        }
+    }
+
+    // Tulis semua pesan yang sudah terbit; false jika buffer kosong
+    private static synchronized boolean drain(PrintStream out, StringBuilder line,
+                                              SimpleDateFormat timeFormat, Date date) {
+        boolean wrote = false;
+        while (true) {
+            Slot slot = slots[(int) head & MASK];
+            if (slot.sequence != head + 1) {
+                break;
+            }
+
+            date.setTime(slot.time);
+            line.setLength(0);
+            line.append(timeFormat.format(date)).append(' ')
+                    .append(slot.level).append(slot.level.name().length() == 4 ? "  [" : " [")
+                    .append(slot.thread).append("] ");
+            Throwable error = format(line, slot);
+            out.println(line);
+            if (error != null) {
+                error.printStackTrace(out);
+            }
+
+            slot.format = null;
+            slot.thread = null;
+            slot.args = null;
+            slot.arg0 = null;
+            slot.arg1 = null;
+            slot.arg2 = null;
+            // Kosongkan slot untuk putaran berikutnya
+            slot.sequence = head + CAPACITY;
+            head++;
+            wrote = true;
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            out.println("Log buffer penuh, " + lost + " pesan dibuang");
+        }
+        if (wrote) {
+            out.flush();
+        }
+        return wrote;
+    }
+
+    // Ganti setiap {} dengan argumen berikutnya; kembalikan Throwable sisa untuk dicetak stack trace-nya
+    private static Throwable format(StringBuilder line, Slot slot) {
+        String format = slot.format;
+        int used = 0;
+        int start = 0;
+        int index;
+        while (used < slot.argCount && (index = format.indexOf("{}", start)) >= 0) {
+            line.append(format, start, index).append(argument(slot, used++));
+            start = index + 2;
+        }
+        line.append(format, start, format.length());
+
+        if (used < slot.argCount) {
+            Object last = argument(slot, slot.argCount - 1);
+            if (last instanceof Throwable) {
+                return (Throwable) last;
+            }
+        }
+        return null;
+    }
+
+    private static Object argument(Slot slot, int index) {
+        if (slot.args != null) {
+            return slot.args[index];
+        }
+        return index == 0 ? slot.arg0 : index == 1 ? slot.arg1 : slot.arg2;
+    }
+
+    // Tunggu sampai semua pesan yang sudah masuk tertulis (dipanggil saat aplikasi keluar)
+    public static void flush() {
+        drain(System.out, new StringBuilder(256), new SimpleDateFormat("HH:mm:ss.SSS"), new Date());
+    }
+
+    private static Level parseLevel(String value) {
+        if (value != null) {
+            try {
+                return Level.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Level log tidak dikenal: " + value + ", memakai INFO");
+            }
+        }
+        return Level.INFO;
+    }
+}
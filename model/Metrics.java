@@ -0,0 +1,233 @@
+package model;
+
+import javax.management.ObjectName;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry metrik runtime: timer (histogram latensi dalam nanodetik),
+ * counter, dan gauge. Metrik dibuat sekali per nama lalu disimpan di field
+ * pemanggil, sehingga pencatatan di jalur panas tidak mencari di map dan
+ * tidak mengalokasikan apa pun.
+ *
+ * Setiap metrik didaftarkan sebagai MXBean dengan nama
+ * azzam:type=Timer|Counter|Gauge,name=... sehingga dapat dipantau dengan
+ * JConsole/VisualVM, dan seluruh registry dapat ditulis ke file teks lewat
+ * dumpToFile() (dipanggil saat keluar jika -Dazzam.metrics.file diisi,
+ * atau lewat operasi JMX azzam:type=Metrics).
+ */
+public final class Metrics {
+    public interface TimerMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP90Millis();
+        double getP99Millis();
+        double getP999Millis();
+        double getMaxMillis();
+        void reset();
+    }
+
+    public interface CounterMXBean {
+        long getCount();
+    }
+
+    public interface GaugeMXBean {
+        long getValue();
+    }
+
+    public interface RegistryMXBean {
+        String dump();
+        void dumpToFile(String path) throws IOException;
+        void resetTimers();
+    }
+
+    // Histogram latensi; nilai dicatat dalam nanodetik dan dilaporkan dalam milidetik
+    public static final class Timer implements TimerMXBean {
+        private final Histogram histogram = new Histogram();
+
+        private Timer() {
+        }
+
+        public void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        // Catat waktu sejak startNanos (hasil System.nanoTime())
+        public void recordSince(long startNanos) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return histogram.getMean() / 1e6;
+        }
+
+        @Override
+        public double getP50Millis() {
+            return histogram.valueAtPercentile(50) / 1e6;
+        }
+
+        @Override
+        public double getP90Millis() {
+            return histogram.valueAtPercentile(90) / 1e6;
+        }
+
+        @Override
+        public double getP99Millis() {
+            return histogram.valueAtPercentile(99) / 1e6;
+        }
+
+        @Override
+        public double getP999Millis() {
+            return histogram.valueAtPercentile(99.9) / 1e6;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return histogram.getMax() / 1e6;
+        }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+        }
+    }
+
+    public static final class Counter implements CounterMXBean {
+        private final LongAdder count = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    // Nilai terakhir yang diset, misalnya jumlah hati di layar
+    public static final class Gauge implements GaugeMXBean {
+        private volatile long value;
+
+        private Gauge() {
+        }
+
+        public void set(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long getValue() {
+            return value;
+        }
+    }
+
+    private static final long START_NANOS = System.nanoTime();
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private static volatile boolean jmxAvailable = true;
+
+    static {
+        register("Metrics", null, new RegistryMXBean() {
+            @Override
+            public String dump() {
+                return Metrics.dump();
+            }
+
+            @Override
+            public void dumpToFile(String path) throws IOException {
+                Metrics.dumpToFile(path);
+            }
+
+            @Override
+            public void resetTimers() {
+                for (Timer timer : timers.values()) {
+                    timer.reset();
+                }
+            }
+        });
+    }
+
+    private Metrics() {
+    }
+
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, key -> register("Timer", key, new Timer()));
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> register("Counter", key, new Counter()));
+    }
+
+    public static Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, key -> register("Gauge", key, new Gauge()));
+    }
+
+    // Daftarkan ke platform MBeanServer; tanpa modul java.management metrik tetap berjalan tanpa JMX
+    private static <T> T register(String type, String name, T bean) {
+        if (!jmxAvailable) {
+            return bean;
+        }
+        try {
+            String objectName = "azzam:type=" + type + (name != null ? ",name=" + ObjectName.quote(name) : "");
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, new ObjectName(objectName));
+        } catch (Exception | LinkageError e) {
+            jmxAvailable = false;
+            Log.warn("Metrik tidak dapat didaftarkan ke JMX: {}", e.toString());
+        }
+        return bean;
+    }
+
+    // Ringkasan semua metrik sebagai teks, diurutkan berdasarkan nama
+    public static String dump() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%-24s %10s %10s %10s %10s %10s %10s %10s%n",
+                "timer (ms)", "count", "mean", "p50", "p90", "p99", "p99.9", "max"));
+        for (Map.Entry<String, Timer> entry : new TreeMap<>(timers).entrySet()) {
+            Timer timer = entry.getValue();
+            text.append(String.format(Locale.ROOT, "%-24s %10d %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                    entry.getKey(), timer.getCount(), timer.getMeanMillis(), timer.getP50Millis(),
+                    timer.getP90Millis(), timer.getP99Millis(), timer.getP999Millis(), timer.getMaxMillis()));
+        }
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-24s %10d%n", entry.getKey(), entry.getValue().getCount()));
+        }
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-24s %10d%n", entry.getKey(), entry.getValue().getValue()));
+        }
+        return text.toString();
+    }
+
+    public static void dumpToFile(String path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(path, true))) {
+            writer.println("# " + new Date() + ", uptime "
+                    + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - START_NANOS) + " s");
+            writer.print(dump());
+            writer.println();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package model;
+
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.BitstreamException;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.JavaLayerException;
+import javazoom.jl.decoder.SampleBuffer;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kanal musik yang men-decode MP3 sedikit demi sedikit dengan JLayer.
+ * File MP3 disimpan utuh dalam bentuk terkompresi di memori; satu thread
+ * decoder mengisi ring buffer kecil (sekitar 0,75 detik PCM) yang dibaca
+ * thread AudioMixer setiap periode. Di akhir file, decoder langsung mulai
+ * lagi dari awal byte yang sama tanpa membaca disk, sehingga pengulangan
+ * tidak memiliki jeda selain padding bawaan encoder MP3.
+ */
+final class MusicStream implements Runnable {
+    // Kapasitas ring buffer dalam sampel (kelipatan dua agar indeks cukup di-mask)
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+    // Lama decoder menunggu saat ring buffer penuh
+    private static final long FULL_WAIT_NANOS = 5000000;
+
+    private final byte[] compressed;
+    private final short[] ring = new short[CAPACITY];
+    // Posisi total (dalam sampel); written hanya diubah decoder, read hanya diubah mixer
+    private volatile long written = 0;
+    private volatile long read = 0;
+    private volatile boolean running = true;
+    private final Thread thread;
+
+    // Status resampling ke laju sampel mixer, dibawa dari frame MP3 ke frame berikutnya
+    private double position = 0;
+    private short previousLeft;
+    private short previousRight;
+
+    MusicStream(byte[] compressed) {
+        this.compressed = compressed;
+        thread = new Thread(this, "MusicDecoder");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    // Dipanggil thread mixer: tambahkan sampel yang tersedia ke buffer mix (underrun menjadi hening)
+    void mixInto(int[] mix) {
+        long start = read;
+        int count = (int) Math.min(mix.length, written - start);
+        for (int i = 0; i < count; i++) {
+            mix[i] += ring[(int) (start + i) & MASK];
+        }
+        read = start + count;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            // Decoder JLayer terikat pada Bitstream pertama yang dibacanya, jadi dibuat ulang setiap putaran
+            Bitstream bitstream = new Bitstream(new ByteArrayInputStream(compressed));
+            Decoder decoder = new Decoder();
+            int frames = 0;
+            try {
+                Header header;
+                while (running && (header = bitstream.readFrame()) != null) {
+                    SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+                    append(output);
+                    bitstream.closeFrame();
+                    frames++;
+                }
+            } catch (JavaLayerException | RuntimeException e) {
+                Log.error("Error decoding music: {}", e.getMessage());
+                running = false;
+            } finally {
+                try {
+                    bitstream.close();
+                } catch (BitstreamException e) {
+                    // Ignore, sumbernya array di memori
+                }
+            }
+            if (frames == 0) {
+                Log.warn("Music stream contains no MP3 frames");
+                running = false;
+            }
+        }
+    }
+
+    // Ubah satu frame hasil decode ke stereo dengan laju sampel mixer lalu tulis ke ring buffer
+    private void append(SampleBuffer output) {
+        short[] samples = output.getBuffer();
+        int channels = output.getChannelCount();
+        int frames = output.getBufferLength() / channels;
+        if (frames == 0) {
+            return;
+        }
+        double step = output.getSampleFrequency() / (double) AudioMixer.SAMPLE_RATE;
+
+        // Tunggu sampai ada ruang untuk seluruh hasil frame ini
+        int needed = ((int) (frames / step) + 2) * AudioMixer.CHANNELS;
+        while (running && CAPACITY - (written - read) < needed) {
+            LockSupport.parkNanos(FULL_WAIT_NANOS);
+        }
+
+        // Interpolasi linear; posisi -1 berarti sampel terakhir frame sebelumnya
+        long w = written;
+        while (position < frames - 1) {
+            int index = (int) Math.floor(position);
+            double fraction = position - index;
+            short left0 = index < 0 ? previousLeft : samples[index * channels];
+            short right0 = index < 0 ? previousRight : samples[index * channels + channels - 1];
+            short left1 = samples[(index + 1) * channels];
+            short right1 = samples[(index + 1) * channels + channels - 1];
+            ring[(int) w & MASK] = (short) (left0 + (left1 - left0) * fraction);
+            ring[(int) (w + 1) & MASK] = (short) (right0 + (right1 - right0) * fraction);
+            w += AudioMixer.CHANNELS;
+            position += step;
+        }
+        position -= frames;
+        previousLeft = samples[(frames - 1) * channels];
+        previousRight = samples[(frames - 1) * channels + channels - 1];
+        written = w;
+    }
+}
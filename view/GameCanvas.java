@@ -0,0 +1,123 @@
+package view;
+
+import model.Log;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+
+/**
+ * Canvas untuk mode render aktif. Frame digambar langsung dari thread loop
+ * permainan ke BufferStrategy (page flipping jika didukung), tanpa melewati
+ * RepaintManager Swing. Latar belakang statis disimpan di VolatileImage dan
+ * digambar ulang secara otomatis jika isi VRAM hilang.
+ */
+class GameCanvas extends Canvas {
+    // Sumber gambar untuk canvas, diimplementasikan oleh GamePanel
+    interface FrameRenderer {
+        // Menggambar latar belakang statis (hanya dipanggil saat back buffer dibuat/dipulihkan)
+        void drawBackground(Graphics2D g2d);
+
+        // Menggambar objek permainan di atas latar belakang
+        void drawFrame(Graphics2D g2d, double alpha);
+    }
+
+    private static final int BUFFER_COUNT = 2;
+
+    private final int width;
+    private final int height;
+    private final FrameRenderer renderer;
+    private BufferStrategy strategy;
+    private VolatileImage backgroundBuffer;
+
+    GameCanvas(int width, int height, FrameRenderer renderer) {
+        this.width = width;
+        this.height = height;
+        this.renderer = renderer;
+        setPreferredSize(new Dimension(width, height));
+        setIgnoreRepaint(true); // Semua penggambaran dilakukan secara aktif
+        setFocusable(true);
+    }
+
+    // Render satu frame; dipanggil dari thread loop permainan
+    void renderFrame(double alpha) {
+        if (!isDisplayable()) return;
+        BufferStrategy bufferStrategy = getStrategy();
+        if (bufferStrategy == null) return;
+
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    drawBackgroundBuffer(g2d);
+                    renderer.drawFrame(g2d, alpha);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // Buat BufferStrategy saat pertama kali dibutuhkan; utamakan page flipping
+    private BufferStrategy getStrategy() {
+        if (strategy == null) {
+            try {
+                createBufferStrategy(BUFFER_COUNT, new BufferCapabilities(
+                        new ImageCapabilities(true),
+                        new ImageCapabilities(true),
+                        BufferCapabilities.FlipContents.UNDEFINED));
+                Log.info("Render aktif memakai page flipping");
+            } catch (AWTException e) {
+                // Page flipping tidak tersedia (misalnya mode windowed), pakai blit strategy
+                createBufferStrategy(BUFFER_COUNT);
+                Log.info("Page flipping tidak tersedia, memakai blit buffer strategy");
+            } catch (IllegalStateException e) {
+                // Komponen belum tampil di layar
+                return null;
+            }
+            strategy = getBufferStrategy();
+        }
+        return strategy;
+    }
+
+    // Salin latar belakang dari VolatileImage, buat ulang jika hilang atau tidak kompatibel
+    private void drawBackgroundBuffer(Graphics2D g2d) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        do {
+            int status = backgroundBuffer == null
+                    ? VolatileImage.IMAGE_INCOMPATIBLE
+                    : backgroundBuffer.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (backgroundBuffer != null) {
+                    backgroundBuffer.flush();
+                }
+                backgroundBuffer = gc.createCompatibleVolatileImage(width, height);
+                status = VolatileImage.IMAGE_RESTORED;
+            }
+            if (status == VolatileImage.IMAGE_RESTORED) {
+                Graphics2D backgroundGraphics = backgroundBuffer.createGraphics();
+                try {
+                    renderer.drawBackground(backgroundGraphics);
+                } finally {
+                    backgroundGraphics.dispose();
+                }
+            }
+            g2d.drawImage(backgroundBuffer, 0, 0, null);
+        } while (backgroundBuffer.contentsLost());
+    }
+
+    // Lepaskan sumber daya grafis saat jendela ditutup
+    void dispose() {
+        if (strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+        if (backgroundBuffer != null) {
+            backgroundBuffer.flush();
+            backgroundBuffer = null;
+        }
+    }
+}
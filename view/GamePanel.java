@@ -1,63 +1,99 @@
 package view;
 
 import model.AudioPlayer;
+import model.Log;
+import model.Metrics;
+import viewmodel.FrameSnapshot;
 import viewmodel.GameEngine;
+import viewmodel.GameLoop;
+import viewmodel.InputRecorder;
 import viewmodel.InputController;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.HashMap;
 import java.io.File;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
-public class GamePanel extends JPanel implements ActionListener {
+public class GamePanel extends JPanel implements GameLoop.Listener {
     // Konstanta
     private static final int PANEL_WIDTH = 800;
     private static final int PANEL_HEIGHT = 600;
-    private static final int FPS = 60;
+    private static final int TICKS_PER_SECOND = 60; // Laju simulasi tetap
+    private static final int DEFAULT_FPS = 60; // Dipakai jika refresh rate layar tidak diketahui
+    
+    // Metrik frame: lama menggambar satu frame dan jarak antar frame yang terlihat pemain
+    private static final Metrics.Timer FRAME_RENDER = Metrics.timer("frame.render");
+    private static final Metrics.Timer FRAME_INTERVAL = Metrics.timer("frame.interval");
     
     // Referensi
     private GameEngine gameEngine;
     private InputController inputController;
     private MainMenuView mainMenuView;
+    private final InputRecorder recorder; // null jika permainan tidak direkam
+    
+    // Loop permainan dengan timestep tetap (berjalan di thread sendiri)
+    private GameLoop gameLoop;
+    private volatile double renderAlpha = 1.0; // Faktor interpolasi untuk frame berikutnya
+    private boolean gameStarted = false; // Diisi dari thread loop saat permainan terdeteksi berjalan
     
-    // Timer untuk putaran permainan
-    private Timer gameTimer;
+    // Canvas untuk mode render aktif (null jika memakai repaint Swing biasa)
+    private GameCanvas gameCanvas;
+    
+    // Penggambar frame beserta sprite dan HUD-nya
+    private GameRenderer renderer;
+    private long lastFrameNanos = 0; // Waktu mulai frame sebelumnya; hanya dipakai thread penggambar
+    
+    // Overlay diagnostik yang ditampilkan dengan F3
+    private final PerformanceOverlay overlay = new PerformanceOverlay(PANEL_WIDTH);
     
-    // Gambar
-    private BufferedImage backgroundImage;
-    private BufferedImage[] playerImages; // Berbagai kondisi emosi
-    private BufferedImage girlImage;
-    private HashMap<Integer, BufferedImage> heartImages;
-    private BufferedImage ropeImage;
       // Status emosi terakhir untuk efek suara
     private int lastEmotionState = -1;
     
     // Penanda untuk melacak apakah suara prestasi baru saja diputar
     private long lastAchievementSoundTime = 0;      public GamePanel(GameEngine gameEngine, MainMenuView mainMenuView) {
+        this(gameEngine, mainMenuView, null);
+    }
+    
+    // Permainan yang direkam; recorder harus menjadi GameClock milik gameEngine
+    public GamePanel(GameEngine gameEngine, MainMenuView mainMenuView, InputRecorder recorder) {
         this.gameEngine = gameEngine;
         this.mainMenuView = mainMenuView;
+        this.recorder = recorder;
         
         // Mengatur panel
         setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
         setFocusable(true);
         
+        // Mode render aktif dipilih saat startup dengan -Dazzam.render=active
+        if (isActiveRenderingRequested()) {
+            setLayout(new BorderLayout());
+            gameCanvas = new GameCanvas(PANEL_WIDTH, PANEL_HEIGHT, new GameCanvas.FrameRenderer() {
+                @Override
+                public void drawBackground(Graphics2D g2d) {
+                    renderer.drawBackground(g2d);
+                }
+                
+                @Override
+                public void drawFrame(Graphics2D g2d, double alpha) {
+                    GamePanel.this.drawFrame(g2d, alpha);
+                }
+            });
+            add(gameCanvas, BorderLayout.CENTER);
+            Log.info("Mode render aktif (BufferStrategy) digunakan");
+        }
+        
         // Memuat aset
-        loadImages();
+        renderer = new GameRenderer(PANEL_WIDTH, PANEL_HEIGHT);
         loadSounds();
         
-        // Memanggil metode ini untuk memverifikasi metode GameEngine tersedia
-        ensureGameEngineMethods();
-        
         // Mengatur pengontrol input
-        inputController = new InputController(gameEngine);
-        addKeyListener(inputController);
-        addMouseListener(inputController);
+        inputController = new InputController(gameEngine, recorder);
+        Component inputTarget = gameCanvas != null ? gameCanvas : this;
+        inputTarget.addKeyListener(inputController);
+        inputTarget.addMouseListener(inputController);
         
         // Membuat frame permainan
         JFrame gameFrame = new JFrame("Azzam Love - Game");
@@ -67,55 +103,55 @@ public class GamePanel extends JPanel implements ActionListener {
         gameFrame.pack();
         gameFrame.setLocationRelativeTo(null);
         gameFrame.setVisible(true);
+        inputTarget.requestFocusInWindow();
         
-        // Memulai timer permainan
-        gameTimer = new Timer(1000 / FPS, this);
-        gameTimer.start();
+        // Memulai loop permainan; render mengikuti refresh rate layar
+        gameLoop = new GameLoop(TICKS_PER_SECOND, detectRefreshRate(), this);
+        gameLoop.start();
           // Memutar suara mulai dan musik latar
         playSound("game_start");
         playInGameMusic();
     }
-      private void loadImages() {
+    // Tentukan laju render dari refresh rate layar (bisa ditimpa dengan -Dazzam.fps=...)
+    private static int detectRefreshRate() {
+        String override = System.getProperty("azzam.fps");
+        if (override != null) {
+            try {
+                int fps = Integer.parseInt(override.trim());
+                if (fps > 0) {
+                    return fps;
+                }
+            } catch (NumberFormatException e) {
+                Log.warn("Nilai azzam.fps tidak valid: {}", override);
+            }
+        }
+        
         try {
-            // Memuat latar belakang
-            backgroundImage = ImageIO.read(new File("assets/background taman.png"));
-            
-            // Memuat gambar pemain untuk berbagai emosi
-            playerImages = new BufferedImage[4];
-            playerImages[0] = ImageIO.read(new File("assets/Azzam Berjalan.png")); // Normal
-            playerImages[1] = ImageIO.read(new File("assets/Azzam Senang.png"));   // Senang (skor >= 30)
-            playerImages[2] = ImageIO.read(new File("assets/Azzam Nahh Ituu.png")); // Bersemangat (skor >= 50)
-            playerImages[3] = ImageIO.read(new File("assets/Azzam Tertawa.png"));   // Tertawa (skor >= 100)
-            
-            // Memuat karakter perempuan
-            girlImage = ImageIO.read(new File("assets/Perempuan Senang.png"));
-            
-            // Memuat gambar hati
-            heartImages = new HashMap<>();
-            heartImages.put(0, ImageIO.read(new File("assets/Hati Biru.png"))); // Biru - 3 poin
-            heartImages.put(1, ImageIO.read(new File("assets/Hati Hijau.png"))); // Hijau - 4 poin
-            heartImages.put(2, ImageIO.read(new File("assets/Hati Kuning.png"))); // Kuning - 5 poin
-            heartImages.put(3, ImageIO.read(new File("assets/Hati Merah.png"))); // Merah - 6 poin
-            heartImages.put(4, ImageIO.read(new File("assets/Hati Orange.png"))); // Oranye - 7 poin
-            heartImages.put(5, ImageIO.read(new File("assets/Hati Ungu.png"))); // Ungu - 2 poin
-            heartImages.put(6, ImageIO.read(new File("assets/Hati Potek.png"))); // Rusak - -12 poin
-            
-            // Memuat gambar tali untuk lasso
-            ropeImage = ImageIO.read(new File("assets/tali cinta.png"));
-            
-        } catch (IOException e) {
-            System.out.println("Error loading images: " + e.getMessage());
-            e.printStackTrace();
+            int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            if (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return refreshRate;
+            }
+        } catch (Exception e) {
+            Log.warn("Tidak dapat membaca refresh rate layar: {}", e.getMessage());
         }
-    }      private void loadSounds() {
+        return DEFAULT_FPS;
+    }
+    
+    // Periksa apakah mode render aktif diminta lewat properti sistem
+    private static boolean isActiveRenderingRequested() {
+        return "active".equalsIgnoreCase(System.getProperty("azzam.render", "passive").trim());
+    }
+    
+      private void loadSounds() {
         try {
             // Dapatkan instance AudioPlayer dan pastikan suara diinisialisasi dengan benar
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             
             // Output debug untuk memastikan sistem audio berjalan
-            System.out.println("\n=== GAME SOUNDS INITIALIZATION ===");
-            System.out.println("AudioPlayer instance: " + (audioPlayer != null ? "OK" : "NULL"));
-            System.out.println("Sound enabled: " + audioPlayer.isSoundEnabled());
+            Log.debug("=== GAME SOUNDS INITIALIZATION ===");
+            Log.debug("AudioPlayer instance: {}", (audioPlayer != null ? "OK" : "NULL"));
+            Log.debug("Sound enabled: {}", audioPlayer.isSoundEnabled());
             
             // Verifikasi library MP3
             verifyMP3Libraries();
@@ -123,93 +159,79 @@ public class GamePanel extends JPanel implements ActionListener {
             // Verifikasi keberadaan file audio
             verifyAudioFiles();
             
-            System.out.println("=================================\n");
+            Log.debug("=================================");
         } catch (Exception e) {
-            System.out.println("Error initializing audio system: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error initializing audio system: {}", e.getMessage(), e);
         }
     }
     
     // Method untuk memeriksa apakah library MP3 tersedia
     private void verifyMP3Libraries() {
-        System.out.println("Checking MP3 libraries...");
+        Log.debug("Checking MP3 libraries...");
         
         boolean mp3LibsFound = false;
         
         // Check for MP3SPI in classpath
         try {
             Class.forName("javazoom.spi.mpeg.sampled.file.MpegAudioFileReader");
-            System.out.println("MP3SPI library found - MP3 support should be available");
+            Log.debug("MP3SPI library found - MP3 support should be available");
             mp3LibsFound = true;
         } catch (ClassNotFoundException e) {
-            System.out.println("MP3SPI library not found in classpath");
+            Log.warn("MP3SPI library not found in classpath");
         }
         
         // Check for JLayer in classpath
         try {
             Class.forName("javazoom.jl.decoder.Decoder");
-            System.out.println("JLayer library found");
+            Log.debug("JLayer library found");
         } catch (ClassNotFoundException e) {
-            System.out.println("JLayer library not found in classpath");
+            Log.warn("JLayer library not found in classpath");
         }
         
         if (!mp3LibsFound) {
-            System.out.println("WARNING: MP3 support libraries not found!");
-            System.out.println("To enable MP3 support, run download_mp3_libs.bat and then recompile the game");
-            System.out.println("Alternatively, run convert_mp3_to_wav.bat to create WAV versions of the sounds");
+            Log.warn("WARNING: MP3 support libraries not found!");
+            Log.warn("In-game music needs the MP3 jars from lib/ on the classpath (gradle run adds them)");
         }
     }
-      // Method untuk memeriksa keberadaan file audio
+    // Method untuk memeriksa keberadaan file audio yang dibuka AudioPlayer.loadSounds()
     private void verifyAudioFiles() {
-        System.out.println("Verifying audio files...");
+        Log.debug("Verifying audio files...");
         
-        // Check MP3 files in assets folder
-        boolean mp3Found = checkAudioFile("assets/sound game start.mp3", "Game Start Sound (MP3)");
-        mp3Found &= checkAudioFile("assets/sound ingame.mp3", "In-Game Music (MP3)");
-        mp3Found &= checkAudioFile("assets/sound achivement.mp3", "Achievement Sound (MP3)");
-        mp3Found &= checkAudioFile("assets/sound berubah.mp3", "Character Change Sound (MP3)");
+        // Efek suara di-decode dari WAV, musik latar dialirkan dari MP3
+        boolean allFound = checkAudioFile("assets/sound game start.wav", "Game Start Sound (WAV)");
+        allFound &= checkAudioFile("assets/sound ingame.mp3", "In-Game Music (MP3)");
+        allFound &= checkAudioFile("assets/sound achivement.wav", "Achievement Sound (WAV)");
+        allFound &= checkAudioFile("assets/sound berubah.wav", "Character Change Sound (WAV)");
         
-        // If MP3 files are missing or if we want to check WAV fallbacks
-        if (!mp3Found) {
-            System.out.println("\nChecking WAV fallbacks in sounds folder...");
-            boolean wavFound = checkAudioFile("sounds/sound game start.wav", "Game Start Sound (WAV)");
-            wavFound &= checkAudioFile("sounds/sound ingame.wav", "In-Game Music (WAV)");
-            wavFound &= checkAudioFile("sounds/sound achivement.wav", "Achievement Sound (WAV)");
-            wavFound &= checkAudioFile("sounds/sound berubah.wav", "Character Change Sound (WAV)");
-            
-            if (!wavFound) {
-                System.out.println("\nWARNING: Neither MP3 nor WAV files were found completely!");
-                System.out.println("Run convert_mp3_to_wav.bat to convert your MP3 files to WAV format");
-                System.out.println("or download_mp3_libs.bat to add MP3 support libraries");
-            }
+        if (!allFound) {
+            Log.warn("WARNING: Some audio files are missing from the assets folder, those sounds will be silent");
         }
         
-        System.out.println("Audio file verification complete");
+        Log.debug("Audio file verification complete");
     }
     
     // Helper method untuk memeriksa keberadaan file audio
     private boolean checkAudioFile(String path, String description) {
         File file = new File(path);
         if (file.exists()) {
-            System.out.println(description + " found: " + path + " (" + file.length() + " bytes)");
+            Log.debug("{} found: {} ({} bytes)", description, path, file.length());
             return true;
         } else {
-            System.out.println("WARNING: " + description + " not found at: " + path);
+            Log.warn("WARNING: {} not found at: {}", description, path);
             return false;
         }
     }// Metode pembantu untuk memainkan suara sekali
     private void playSound(String name) {
         try {
-            System.out.println("GamePanel: Memainkan suara: " + name);
+            Log.debug("GamePanel: Memainkan suara: {}", name);
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             if (audioPlayer != null) {
                 audioPlayer.playSound(name);
             } else {
-                System.out.println("ERROR: Instance AudioPlayer adalah null");
+                Log.error("ERROR: Instance AudioPlayer adalah null");
             }
         } catch (Exception e) {
-            System.out.println("Error pada playSound '" + name + "': " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error pada playSound '{}': {}", name, e.getMessage(), e);
         }
     }
     
@@ -217,16 +239,15 @@ public class GamePanel extends JPanel implements ActionListener {
     // Metode pembantu untuk mengulang suara terus-menerus
     private void loopSound(String name) {
         try {
-            System.out.println("GamePanel: Mengulang suara: " + name);
+            Log.debug("GamePanel: Mengulang suara: {}", name);
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             if (audioPlayer != null) {
                 audioPlayer.loopSound(name);
             } else {
-                System.out.println("ERROR: Instance AudioPlayer adalah null");
+                Log.error("ERROR: Instance AudioPlayer adalah null");
             }
         } catch (Exception e) {
-            System.out.println("Error pada loopSound '" + name + "': " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error pada loopSound '{}': {}", name, e.getMessage(), e);
         }
     }
     
@@ -237,7 +258,7 @@ public class GamePanel extends JPanel implements ActionListener {
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             audioPlayer.stopSound(name);
         } catch (Exception e) {
-            System.out.println("Error pada stopSound: " + e.getMessage());
+            Log.error("Error pada stopSound: {}", e.getMessage());
         }
     }
     
@@ -248,7 +269,7 @@ public class GamePanel extends JPanel implements ActionListener {
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             audioPlayer.stopAllSounds();
         } catch (Exception e) {
-            System.out.println("Error pada stopAllSounds: " + e.getMessage());
+            Log.error("Error pada stopAllSounds: {}", e.getMessage());
         }
     }
       @SuppressWarnings("unused")
@@ -262,275 +283,192 @@ public class GamePanel extends JPanel implements ActionListener {
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             if (audioPlayer != null) {
                 audioPlayer.stopAllSounds();
-                System.out.println("Semua suara dihentikan di GamePanel");
+                Log.debug("Semua suara dihentikan di GamePanel");
             }
         } catch (Exception e) {
-            System.out.println("Error menghentikan suara di GamePanel: " + e.getMessage());
+            Log.error("Error menghentikan suara di GamePanel: {}", e.getMessage());
         }
     }
     
-    // Metode pembantu untuk memastikan metode GameEngine dapat diakses
-    private void ensureGameEngineMethods() {
-        try {
-            // Menggunakan reflection untuk memeriksa apakah metode ada
-            Class<?> engineClass = gameEngine.getClass();
-            
-            // Memeriksa apakah semua metode yang diperlukan ada (variabel tidak digunakan, tetapi keberadaan metode diperiksa)
-            engineClass.getMethod("isGirlFacingRight");
-            engineClass.getMethod("isHeartReachedGirl");
-            engineClass.getMethod("getEmotionState");
-            engineClass.getMethod("isFacingRight");
-            engineClass.getMethod("getTimeRemaining");
-            
-            System.out.println("Semua metode GameEngine yang diperlukan dapat diakses");
-        } catch (Exception e) {
-            System.out.println("Error memeriksa metode GameEngine: " + e.getMessage());
-        }
+      @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        
+        // Dalam mode render aktif canvas menggambar dirinya sendiri
+        if (gameCanvas != null) return;
+        
+        Graphics2D g2d = (Graphics2D) g;
+        renderer.drawBackground(g2d);
+        drawFrame(g2d, renderAlpha);
+        
+        // Kirim frame ke layar segera agar pacing frame tetap stabil
+        Toolkit.getDefaultToolkit().sync();
     }
-      // Metode pembungkus untuk mengakses metode GameEngine melalui reflection
-    private boolean isGirlFacingRight() {
-        try {
-            Method method = gameEngine.getClass().getMethod("isGirlFacingRight");
-            return (boolean) method.invoke(gameEngine);
-        } catch (Exception e) {
-            System.out.println("Error pada isGirlFacingRight: " + e.getMessage());
-            return true; // Nilai default
+    
+    // Gambar snapshot tick terakhir; engine sudah boleh mengisi snapshot berikutnya tanpa kunci
+    private void drawFrame(Graphics2D g2d, double alpha) {
+        long start = System.nanoTime();
+        FrameSnapshot snapshot = gameEngine.getFrameSnapshot();
+        renderer.drawFrame(g2d, snapshot, alpha);
+        long paintNanos = System.nanoTime() - start;
+        FRAME_RENDER.record(paintNanos);
+        if (lastFrameNanos != 0) {
+            FRAME_INTERVAL.record(start - lastFrameNanos);
+        }
+        lastFrameNanos = start;
+        
+        overlay.recordFrame(start, paintNanos);
+        if (inputController.isOverlayVisible()) {
+            overlay.draw(g2d, snapshot.getHearts().size());
         }
     }
     
-    private boolean isHeartReachedGirl() {
-        try {
-            Method method = gameEngine.getClass().getMethod("isHeartReachedGirl");
-            return (boolean) method.invoke(gameEngine);
-        } catch (Exception e) {
-            System.out.println("Error pada isHeartReachedGirl: " + e.getMessage());
-            return false; // Nilai default
+    @Override
+    public void tick() {
+        // Dipanggil dari thread loop dengan laju tetap; hanya thread ini yang mengubah engine
+        // Memproses perintah dari EDT (mulai, lempar laso, akhiri) dan input gerak
+        inputController.processInput();
+        
+        if (!gameEngine.isRunning()) {
+            // Permainan baru dianggap selesai setelah sempat berjalan
+            if (gameStarted) {
+                gameLoop.stop();
+                SwingUtilities.invokeLater(this::handleGameOver);
+            }
+            return;
+        }
+        gameStarted = true;
+        
+        // Memperbarui status permainan (sekaligus menerbitkan snapshot untuk renderer)
+        long updateStart = System.nanoTime();
+        gameEngine.update();
+        overlay.recordUpdate(System.nanoTime() - updateStart);
+        
+        int currentEmotionState = gameEngine.getEmotionState();
+        boolean heartReachedGirl = gameEngine.isHeartReachedGirl();
+        
+        // Memeriksa perubahan status emosi untuk efek suara
+        if (currentEmotionState != lastEmotionState) {
+            // Memutar efek suara untuk mencapai tonggak skor
+            if (currentEmotionState > lastEmotionState) {
+                playSound("character_change"); // Gunakan "sound berubah.mp3" ketika emosi berubah
+            }
+            lastEmotionState = currentEmotionState;
+        }
+        
+        // Memeriksa apakah hati telah mencapai perempuan (untuk suara pencapaian)
+        if (heartReachedGirl) {
+            // Jangan memainkan suara pencapaian terlalu dekat bersama-sama
+            long currentTime = System.currentTimeMillis();
+            if (currentTime - lastAchievementSoundTime > 500) { // 500ms cooldown
+                playSound("achievement");
+                lastAchievementSoundTime = currentTime;
+            }
         }
     }
     
-    private int getEmotionState() {
-        try {
-            Method method = gameEngine.getClass().getMethod("getEmotionState");
-            return (int) method.invoke(gameEngine);
-        } catch (Exception e) {
-            System.out.println("Error pada getEmotionState: " + e.getMessage());
-            return 0; // Nilai default
-        }
+    // Mulai memuat sprite permainan di latar belakang agar GamePanel pertama tidak menunggu decode
+    public static CompletableFuture<Void> prefetchAssets() {
+        return GameRenderer.prefetch(PANEL_WIDTH, PANEL_HEIGHT);
     }
     
-    private boolean isFacingRight() {
-        try {
-            Method method = gameEngine.getClass().getMethod("isFacingRight");
-            return (boolean) method.invoke(gameEngine);
-        } catch (Exception e) {
-            System.out.println("Error pada isFacingRight: " + e.getMessage());
-            return true; // Nilai default
-        }
+    // Mulai permainan; dijalankan di thread loop sebagai perintah agar engine hanya diubah satu thread
+    public void startGame(String username) {
+        inputController.startGame(username);
     }
     
-    private long getTimeRemaining() {
-        try {
-            Method method = gameEngine.getClass().getMethod("getTimeRemaining");
-            return (long) method.invoke(gameEngine);
-        } catch (Exception e) {
-            System.out.println("Error pada getTimeRemaining: " + e.getMessage());
-            return 0; // Nilai default
+    @Override
+    public void render(double alpha) {
+        // Dipanggil dari thread loop sesuai jadwal frame
+        if (gameCanvas != null) {
+            // Mode aktif: gambar langsung ke BufferStrategy dari thread loop
+            gameCanvas.renderFrame(alpha);
+        } else {
+            // Mode pasif: penggambaran tetap dilakukan di EDT
+            renderAlpha = alpha;
+            repaint();
         }
     }
-      @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    
+    // Tampilkan hasil akhir dan kembali ke menu (dijalankan di EDT)
+    private void handleGameOver() {
+        // Putar efek suara game over, kemudian hentikan semua musik latar belakang
+        playSound("character_change"); // Gunakan sebagai suara game over
         
-        // Membuat objek grafik untuk rendering yang lebih baik
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        // Tunggu sebentar untuk membiarkan efek suara bermain, kemudian hentikan semua suara
+        javax.swing.Timer soundStopTimer = new javax.swing.Timer(1000, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                stopBackgroundMusic();
+            }
+        });
+        soundStopTimer.setRepeats(false);
+        soundStopTimer.start();
         
-        // Menggambar latar belakang
-        if (backgroundImage != null) {
-            g2d.drawImage(backgroundImage, 0, 0, PANEL_WIDTH, PANEL_HEIGHT, null);
+        saveRecording();
+        
+        // Permainan berakhir - GameEngine.endGame() mengantrekan penyimpanan hasil ke database;
+        // dialog baru ditampilkan setelah penyimpanan selesai agar isinya sesuai hasil sebenarnya
+        gameEngine.getSaveFuture().whenComplete((ignored, error) ->
+                SwingUtilities.invokeLater(() -> showGameOver(error)));
+    }
+    
+    // Tampilkan skor akhir dan hasil penyimpanan, lalu kembali ke menu
+    private void showGameOver(Throwable saveError) {
+        String saveMessage;
+        if (saveError != null) {
+            Throwable cause = saveError.getCause() != null ? saveError.getCause() : saveError;
+            saveMessage = "Hasil Anda gagal disimpan ke database: " + cause.getMessage();
         } else {
-            // Latar belakang cadangan
-            g2d.setColor(new Color(230, 255, 230));
-            g2d.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+            saveMessage = "Hasil Anda telah disimpan ke database!";
         }
-          // Menggambar objek permainan jika permainan sedang berjalan
-        if (gameEngine.isRunning()) {
-            // Menggambar lasso jika aktif
-            GameEngine.Lasso lasso = gameEngine.getLasso();
-            if (lasso != null) {
-                Point start = lasso.getStartPosition();
-                Point end = lasso.getCurrentPosition();
-                
-                // Menggambar garis tali (dengan ketebalan tertentu)
-                g2d.setStroke(new BasicStroke(2));
-                g2d.setColor(Color.RED);
-                g2d.drawLine(start.x, start.y, end.x, end.y);
-                
-                // Menggambar gambar tali di ujung
-                if (ropeImage != null) {
-                    g2d.drawImage(ropeImage, end.x - 15, end.y - 15, 30, 30, null);
-                }
-            }
-            
-            // Menggambar hati
-            for (GameEngine.Heart heart : gameEngine.getHearts()) {
-                Point pos = heart.getPosition();
-                BufferedImage heartImage = heartImages.get(heart.getType());
-                
-                if (heartImage != null) {
-                    g2d.drawImage(heartImage, pos.x - 25, pos.y - 25, 50, 50, null);
-                } else {
-                    // Gambar hati cadangan
-                    g2d.setColor(Color.RED);
-                    g2d.fillOval(pos.x - 15, pos.y - 15, 30, 30);
-                }
-            }
-              // Menggambar perempuan (target untuk hati)
-            Point girlPos = gameEngine.getGirlPosition();
-            if (girlImage != null) {
-                // Memeriksa arah hadap perempuan
-                if (!isGirlFacingRight()) {
-                    // Menggambar gambar yang dicerminkan untuk perempuan menghadap ke kiri
-                    g2d.translate(girlPos.x, girlPos.y);
-                    g2d.scale(-1, 1);
-                    g2d.drawImage(girlImage, -40, -50, 80, 100, null);
-                    g2d.scale(-1, 1);
-                    g2d.translate(-girlPos.x, -girlPos.y);
-                } else {
-                    // Menggambar gambar normal
-                    g2d.drawImage(girlImage, girlPos.x - 40, girlPos.y - 50, 80, 100, null);
-                }
-            } else {
-                // Gambar perempuan cadangan
-                g2d.setColor(Color.PINK);
-                g2d.fillRect(girlPos.x - 20, girlPos.y - 30, 40, 60);
-            }
-            
-            // Menggambar pemain (Azzam) dengan emosi dan arah yang benar
-            Point playerPos = gameEngine.getPlayerPosition();
-            if (playerImages != null) {
-                int emotionState = getEmotionState();
-                BufferedImage playerImage = playerImages[emotionState];
-                
-                if (playerImage != null) {
-                    // Memeriksa apakah kita perlu mencerminkan gambar
-                    if (!isFacingRight()) {
-                        // Menggambar gambar yang dicerminkan
-                        g2d.translate(playerPos.x, playerPos.y);
-                        g2d.scale(-1, 1);
-                        g2d.drawImage(playerImage, -40, -50, 80, 100, null);
-                        g2d.scale(-1, 1);
-                        g2d.translate(-playerPos.x, -playerPos.y);
-                    } else {
-                        // Menggambar gambar normal
-                        g2d.drawImage(playerImage, playerPos.x - 40, playerPos.y - 50, 80, 100, null);
-                    }
-                }
-            } else {
-                // Gambar pemain cadangan
-                g2d.setColor(Color.BLUE);
-                g2d.fillRect(playerPos.x - 20, playerPos.y - 30, 40, 60);
-            }
-              // Menggambar timer
-            long timeRemaining = getTimeRemaining();
-            int seconds = (int)(timeRemaining / 1000);
-            int milliseconds = (int)(timeRemaining % 1000 / 10);
-            
-            g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.BOLD, 24));
-            g2d.drawString(String.format("Waktu: %02d:%02d", seconds, milliseconds), PANEL_WIDTH - 150, 30);
-            
-            // Menggambar skor dan hati yang dikumpulkan
-            g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.BOLD, 20));
-            g2d.drawString("Skor: " + gameEngine.getScore(), 20, 30);
-            g2d.drawString("Hati: " + gameEngine.getHeartsCollected(), 20, 60);
-            
-            // Menggambar instruksi
-            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-            g2d.drawString("Gunakan tombol panah untuk bergerak", 20, PANEL_HEIGHT - 40);
-            g2d.drawString("Klik untuk melempar lasso", 20, PANEL_HEIGHT - 20);
+        
+        // Tampilkan skor akhir sebelum kembali ke menu
+        JFrame gameFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
+        JOptionPane.showMessageDialog(gameFrame, 
+            "Waktu habis! Skor akhir Anda: " + gameEngine.getScore() + 
+            "\nHati yang dikumpulkan: " + gameEngine.getHeartsCollected() +
+            "\n\n" + saveMessage,
+            "Game Over", 
+            saveError != null ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+        
+        // Tutup jendela permainan
+        if (gameCanvas != null) {
+            gameCanvas.dispose();
         }
+        gameFrame.dispose();
+        renderer.dispose();
+        
+        // Tampilkan menu; penyimpanan sudah selesai, jadi skor dapat langsung diperbarui
+        mainMenuView.setVisible(true);
+        mainMenuView.refreshScores();
     }
-      @Override
-    public void actionPerformed(ActionEvent e) {
-        // Memeriksa apakah permainan masih berjalan
-        if (gameEngine.isRunning()) {
-            // Memproses input
-            inputController.processInput();
-            
-            // Memperbarui status permainan
-            gameEngine.update();
-            
-            // Memeriksa perubahan status emosi untuk efek suara
-            int currentEmotionState = getEmotionState();
-            if (currentEmotionState != lastEmotionState) {
-                // Memutar efek suara untuk mencapai tonggak skor
-                if (currentEmotionState > lastEmotionState) {
-                    playSound("character_change"); // Gunakan "sound berubah.mp3" ketika emosi berubah
-                }
-                lastEmotionState = currentEmotionState;
-            }
-            
-            // Memeriksa apakah hati telah mencapai perempuan (untuk suara pencapaian)
-            if (isHeartReachedGirl()) {
-                // Jangan memainkan suara pencapaian terlalu dekat bersama-sama
-                long currentTime = System.currentTimeMillis();
-                if (currentTime - lastAchievementSoundTime > 500) { // 500ms cooldown
-                    playSound("achievement");
-                    lastAchievementSoundTime = currentTime;
-                }
-            }
-            
-            // Menggambar ulang
-            repaint();        } else {
-            // Permainan berakhir, hentikan timer
-            gameTimer.stop();
-            
-            // Putar efek suara game over, kemudian hentikan semua musik latar belakang
-            playSound("character_change"); // Gunakan sebagai suara game over            // Tunggu sebentar untuk membiarkan efek suara bermain, kemudian hentikan semua suara
-            javax.swing.Timer soundStopTimer = new javax.swing.Timer(1000, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    stopBackgroundMusic();
-                }
-            });
-            soundStopTimer.setRepeats(false);
-            soundStopTimer.start();
-            
-            // Permainan berakhir - otomatis menyimpan hasil ke database
-            // Ini terjadi secara otomatis di GameEngine.endGame(), yang dipanggil ketika waktu habis
-            
-            // Tampilkan skor akhir sebelum kembali ke menu
-            JFrame gameFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
-            JOptionPane.showMessageDialog(gameFrame, 
-                "Waktu habis! Skor akhir Anda: " + gameEngine.getScore() + 
-                "\nHati yang dikumpulkan: " + gameEngine.getHeartsCollected() +
-                "\n\nHasil Anda telah disimpan ke database!",
-                "Game Over", 
-                JOptionPane.INFORMATION_MESSAGE);
-            
-            // Tutup jendela permainan
-            gameFrame.dispose();
-            
-            // Perbarui skor dan tampilkan menu
-            mainMenuView.refreshScores();
-            mainMenuView.setVisible(true);
+    
+    // Simpan rekaman input (thread loop sudah berhenti, jadi recorder tidak berubah lagi)
+    private void saveRecording() {
+        File directory = InputRecorder.getRecordingDirectory();
+        if (recorder == null || directory == null) return;
+        try {
+            File file = recorder.saveTo(directory);
+            Log.info("Rekaman permainan disimpan ke {} ({} tick, {} byte)",
+                    file.getPath(), recorder.getTickCount(), file.length());
+        } catch (IOException e) {
+            Log.error("Gagal menyimpan rekaman permainan: {}", e.getMessage());
         }
     }
+    
       // Metode pembantu untuk memutar musik dalam permainan (putar sekali dan mulai ulang ketika selesai)
     private void playInGameMusic() {
         try {
-            System.out.println("GamePanel: Memutar musik dalam permainan dengan auto-restart");
+            Log.debug("GamePanel: Memutar musik dalam permainan secara berulang");
             AudioPlayer audioPlayer = AudioPlayer.getInstance();
             if (audioPlayer != null) {
                 audioPlayer.playInGameMusic();
             } else {
-                System.out.println("ERROR: Instance AudioPlayer adalah null");
+                Log.error("ERROR: Instance AudioPlayer adalah null");
             }
         } catch (Exception e) {
-            System.out.println("Error pada playInGameMusic: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error pada playInGameMusic: {}", e.getMessage(), e);
         }
     }
 }
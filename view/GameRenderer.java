@@ -0,0 +1,279 @@
+package view;
+
+import viewmodel.HeartView;
+import viewmodel.RenderState;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Menggambar satu frame permainan dari RenderState: latar belakang, laso,
+ * hati, karakter, dan HUD. Tidak bergantung pada Swing maupun GameEngine,
+ * sehingga dapat dipakai GamePanel (mode pasif dan aktif) maupun untuk
+ * menggambar ke BufferedImage di luar layar.
+ */
+final class GameRenderer {
+    // Ukuran gambar sprite di layar
+    private static final int CHARACTER_WIDTH = 80;
+    private static final int CHARACTER_HEIGHT = 100;
+    private static final int HEART_SIZE = 50;
+    private static final int ROPE_SIZE = 30;
+    
+    // Lokasi sprite
+    private static final String BACKGROUND_PATH = "assets/background taman.png";
+    private static final String[] PLAYER_PATHS = {
+        "assets/Azzam Berjalan.png",  // Normal
+        "assets/Azzam Senang.png",    // Senang (skor >= 30)
+        "assets/Azzam Nahh Ituu.png", // Bersemangat (skor >= 50)
+        "assets/Azzam Tertawa.png"    // Tertawa (skor >= 100)
+    };
+    private static final String GIRL_PATH = "assets/Perempuan Senang.png";
+    // Diindeks berdasarkan tipe hati
+    private static final String[] HEART_PATHS = {
+        "assets/Hati Biru.png",   // Biru - 3 poin
+        "assets/Hati Hijau.png",  // Hijau - 4 poin
+        "assets/Hati Kuning.png", // Kuning - 5 poin
+        "assets/Hati Merah.png",  // Merah - 6 poin
+        "assets/Hati Orange.png", // Oranye - 7 poin
+        "assets/Hati Ungu.png",   // Ungu - 2 poin
+        "assets/Hati Potek.png"   // Rusak - -12 poin
+    };
+    private static final String ROPE_PATH = "assets/tali cinta.png";
+    
+    // Objek gambar yang tetap, dibuat sekali agar frame tidak mengalokasikan apa pun
+    // Teks HUD digambar dari glyph siap pakai agar setFont tidak dipanggil setiap frame (lihat GlyphFont)
+    private static final GlyphFont TIMER_FONT = new GlyphFont(new Font("Arial", Font.BOLD, 24), Color.BLACK);
+    private static final GlyphFont HUD_FONT = new GlyphFont(new Font("Arial", Font.BOLD, 20), Color.BLACK);
+    private static final GlyphFont HINT_FONT = new GlyphFont(new Font("Arial", Font.PLAIN, 14), Color.BLACK);
+    private static final BasicStroke LASSO_STROKE = new BasicStroke(2);
+    private static final Color FALLBACK_BACKGROUND = new Color(230, 255, 230);
+    // Teks instruksi tidak pernah berubah, jadi disimpan sebagai array char untuk drawChars
+    private static final char[] MOVE_HINT = "Gunakan tombol panah untuk bergerak".toCharArray();
+    private static final char[] LASSO_HINT = "Klik untuk melempar lasso".toCharArray();
+    
+    // Ukuran area gambar
+    private final int width;
+    private final int height;
+    
+    // Teks HUD ditulis ke buffer char yang dipakai ulang
+    private final HudText hudText = new HudText(32);
+    
+    // Gambar (sudah diperkecil ke ukuran gambar dan kompatibel dengan layar, lihat SpriteCache)
+    private BufferedImage backgroundImage;
+    private BufferedImage[] playerImages; // Berbagai kondisi emosi
+    private BufferedImage[] playerImagesMirrored; // Versi menghadap kiri
+    private BufferedImage girlImage;
+    private BufferedImage girlImageMirrored;
+    private BufferedImage[] heartImages; // Diindeks berdasarkan tipe hati
+    private BufferedImage ropeImage;
+    
+    GameRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        loadImages();
+    }
+    
+    // Interpolasi linear antara posisi tick sebelumnya dan posisi terakhir
+    private static int lerp(int from, int to, double alpha) {
+        return (int) Math.round(from + (to - from) * alpha);
+    }
+    
+    private static int lerp(float from, float to, double alpha) {
+        return (int) Math.round(from + (to - from) * alpha);
+    }
+    
+    // Mulai memuat semua sprite permainan secara paralel di latar belakang, sebelum ronde pertama dimulai
+    static CompletableFuture<Void> prefetch(int width, int height) {
+        List<CompletableFuture<BufferedImage>> loads = new ArrayList<>();
+        loads.add(SpriteCache.load(BACKGROUND_PATH, width, height));
+        for (String path : PLAYER_PATHS) {
+            loads.add(SpriteCache.load(path, CHARACTER_WIDTH, CHARACTER_HEIGHT));
+            loads.add(SpriteCache.loadMirrored(path, CHARACTER_WIDTH, CHARACTER_HEIGHT));
+        }
+        loads.add(SpriteCache.load(GIRL_PATH, CHARACTER_WIDTH, CHARACTER_HEIGHT));
+        loads.add(SpriteCache.loadMirrored(GIRL_PATH, CHARACTER_WIDTH, CHARACTER_HEIGHT));
+        for (String path : HEART_PATHS) {
+            loads.add(SpriteCache.load(path, HEART_SIZE, HEART_SIZE));
+        }
+        loads.add(SpriteCache.load(ROPE_PATH, ROPE_SIZE, ROPE_SIZE));
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    private void loadImages() {
+        // Semua sprite dimuat paralel; yang sudah di-prefetch atau dipakai ronde sebelumnya langsung tersedia
+        prefetch(width, height).join();
+        
+        // Memuat latar belakang
+        backgroundImage = SpriteCache.acquire(BACKGROUND_PATH, width, height);
+        
+        // Memuat gambar pemain untuk berbagai emosi
+        playerImages = new BufferedImage[PLAYER_PATHS.length];
+        playerImagesMirrored = new BufferedImage[PLAYER_PATHS.length];
+        for (int i = 0; i < PLAYER_PATHS.length; i++) {
+            playerImages[i] = SpriteCache.acquire(PLAYER_PATHS[i], CHARACTER_WIDTH, CHARACTER_HEIGHT);
+            playerImagesMirrored[i] = SpriteCache.acquireMirrored(PLAYER_PATHS[i], CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        }
+        
+        // Memuat karakter perempuan
+        girlImage = SpriteCache.acquire(GIRL_PATH, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        girlImageMirrored = SpriteCache.acquireMirrored(GIRL_PATH, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        
+        // Memuat gambar hati
+        heartImages = new BufferedImage[HEART_PATHS.length];
+        for (int i = 0; i < HEART_PATHS.length; i++) {
+            heartImages[i] = SpriteCache.acquire(HEART_PATHS[i], HEART_SIZE, HEART_SIZE);
+        }
+        
+        // Memuat gambar tali untuk lasso
+        ropeImage = SpriteCache.acquire(ROPE_PATH, ROPE_SIZE, ROPE_SIZE);
+    }
+    
+    // Lepas sprite yang ditahan renderer ini; sprite tetap tersimpan lunak untuk ronde berikutnya
+    void dispose() {
+        SpriteCache.release(BACKGROUND_PATH, width, height);
+        for (String path : PLAYER_PATHS) {
+            SpriteCache.release(path, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+            SpriteCache.releaseMirrored(path, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        }
+        SpriteCache.release(GIRL_PATH, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        SpriteCache.releaseMirrored(GIRL_PATH, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        for (String path : HEART_PATHS) {
+            SpriteCache.release(path, HEART_SIZE, HEART_SIZE);
+        }
+        SpriteCache.release(ROPE_PATH, ROPE_SIZE, ROPE_SIZE);
+    }
+    
+    // Gambar sprite di (x, y). Sprite di luar area dilewati dan yang terpotong tepi digambar
+    // dengan rentang sumber yang sudah dipotong, karena drawImage biasa membuat objek Rectangle
+    // di dalam Java2D setiap kali gambar melewati tepi area gambar
+    private void drawSprite(Graphics2D g2d, BufferedImage image, int x, int y) {
+        int imageWidth = image.getWidth();
+        int imageHeight = image.getHeight();
+        if (x >= 0 && y >= 0 && x + imageWidth <= width && y + imageHeight <= height) {
+            g2d.drawImage(image, x, y, null);
+            return;
+        }
+        int left = Math.max(x, 0);
+        int top = Math.max(y, 0);
+        int right = Math.min(x + imageWidth, width);
+        int bottom = Math.min(y + imageHeight, height);
+        if (left < right && top < bottom) {
+            g2d.drawImage(image, left, top, right, bottom,
+                    left - x, top - y, right - x, bottom - y, null);
+        }
+    }
+    
+    // Menggambar latar belakang
+    void drawBackground(Graphics2D g2d) {
+        if (backgroundImage != null) {
+            g2d.drawImage(backgroundImage, 0, 0, null);
+        } else {
+            // Latar belakang cadangan
+            g2d.setColor(FALLBACK_BACKGROUND);
+            g2d.fillRect(0, 0, width, height);
+        }
+    }
+    
+    // Menggambar semua objek dinamis; dipakai oleh mode pasif maupun aktif
+    void drawFrame(Graphics2D g2d, RenderState state, double alpha) {
+        drawGame(g2d, state, alpha);
+    }
+    
+    // Menggambar objek permainan dengan posisi yang diinterpolasi
+    private void drawGame(Graphics2D g2d, RenderState state, double alpha) {
+        // Menggambar objek permainan jika permainan sedang berjalan
+        if (state.isRunning()) {
+            // Menggambar lasso jika aktif
+            if (state.hasLasso()) {
+                Point start = state.getLassoStart();
+                Point previousStart = state.getPreviousLassoStart();
+                Point end = state.getLassoEnd();
+                Point previousEnd = state.getPreviousLassoEnd();
+                int startX = lerp(previousStart.x, start.x, alpha);
+                int startY = lerp(previousStart.y, start.y, alpha);
+                int endX = lerp(previousEnd.x, end.x, alpha);
+                int endY = lerp(previousEnd.y, end.y, alpha);
+                
+                // Menggambar garis tali (dengan ketebalan tertentu); hanya garis miring ini yang
+                // perlu antialiasing, sprite dan teks HUD tidak terpengaruh hint ini
+                g2d.setStroke(LASSO_STROKE);
+                g2d.setColor(Color.RED);
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.drawLine(startX, startY, endX, endY);
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                
+                // Menggambar gambar tali di ujung
+                if (ropeImage != null) {
+                    drawSprite(g2d, ropeImage, endX - ROPE_SIZE / 2, endY - ROPE_SIZE / 2);
+                }
+            }
+            
+            // Menggambar hati
+            HeartView hearts = state.getHearts();
+            for (int i = 0; i < hearts.size(); i++) {
+                int heartX = lerp(hearts.getPreviousX(i), hearts.getX(i), alpha);
+                int heartY = lerp(hearts.getPreviousY(i), hearts.getY(i), alpha);
+                BufferedImage heartImage = heartImages[hearts.getType(i)];
+                
+                if (heartImage != null) {
+                    drawSprite(g2d, heartImage, heartX - HEART_SIZE / 2, heartY - HEART_SIZE / 2);
+                } else {
+                    // Gambar hati cadangan
+                    g2d.setColor(Color.RED);
+                    g2d.fillOval(heartX - 15, heartY - 15, 30, 30);
+                }
+            }
+              // Menggambar perempuan (target untuk hati)
+            Point girlPos = state.getGirlPosition();
+            if (girlImage != null) {
+                // Memeriksa arah hadap perempuan
+                // Gambar menghadap kiri sudah dicerminkan sebelumnya oleh SpriteCache
+                BufferedImage image = state.isGirlFacingRight() ? girlImage : girlImageMirrored;
+                drawSprite(g2d, image, girlPos.x - CHARACTER_WIDTH / 2, girlPos.y - CHARACTER_HEIGHT / 2);
+            } else {
+                // Gambar perempuan cadangan
+                g2d.setColor(Color.PINK);
+                g2d.fillRect(girlPos.x - 20, girlPos.y - 30, 40, 60);
+            }
+            
+            // Menggambar pemain (Azzam) dengan emosi dan arah yang benar
+            Point currentPlayerPos = state.getPlayerPosition();
+            Point previousPlayerPos = state.getPreviousPlayerPosition();
+            int playerX = lerp(previousPlayerPos.x, currentPlayerPos.x, alpha);
+            int playerY = lerp(previousPlayerPos.y, currentPlayerPos.y, alpha);
+            if (playerImages != null) {
+                int emotionState = state.getEmotionState();
+                // Memilih gambar yang sudah dicerminkan jika pemain menghadap kiri
+                BufferedImage playerImage = state.isFacingRight()
+                        ? playerImages[emotionState]
+                        : playerImagesMirrored[emotionState];
+                
+                if (playerImage != null) {
+                    drawSprite(g2d, playerImage, playerX - CHARACTER_WIDTH / 2, playerY - CHARACTER_HEIGHT / 2);
+                }
+            } else {
+                // Gambar pemain cadangan
+                g2d.setColor(Color.BLUE);
+                g2d.fillRect(playerX - 20, playerY - 30, 40, 60);
+            }
+              // Menggambar timer
+            long timeRemaining = state.getTimeRemaining();
+            int seconds = (int)(timeRemaining / 1000);
+            int milliseconds = (int)(timeRemaining % 1000 / 10);
+            
+            hudText.clear().append("Waktu: ").appendTwoDigits(seconds).append(':').appendTwoDigits(milliseconds)
+                    .draw(g2d, TIMER_FONT, width - 150, 30);
+            
+            // Menggambar skor dan hati yang dikumpulkan
+            hudText.clear().append("Skor: ").append(state.getScore()).draw(g2d, HUD_FONT, 20, 30);
+            hudText.clear().append("Hati: ").append(state.getHeartsCollected()).draw(g2d, HUD_FONT, 20, 60);
+            
+            // Menggambar instruksi
+            HINT_FONT.drawChars(g2d, MOVE_HINT, 0, MOVE_HINT.length, 20, height - 40);
+            HINT_FONT.drawChars(g2d, LASSO_HINT, 0, LASSO_HINT.length, 20, height - 20);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Font HUD dengan glyph ASCII yang sudah digambar ke gambar kecil sekali di
+ * awal. Graphics2D membangun ulang informasi font (transformasi dan strike)
+ * setiap kali setFont berganti, dan HUD berganti font beberapa kali per frame;
+ * dengan glyph siap pakai teks cukup digambar dengan drawImage, tanpa setFont
+ * dan tanpa membuat objek. Karakter di luar ASCII tetap digambar dengan font
+ * aslinya.
+ */
+final class GlyphFont {
+    private static final char FIRST = ' ';
+    private static final char LAST = '~';
+
+    private final Font font;
+    private final Color color;
+    private final BufferedImage[] glyphs = new BufferedImage[LAST - FIRST + 1];
+    private final int[] advances = new int[LAST - FIRST + 1];
+    private final int ascent;
+    private final int padding; // Ruang di kiri glyph untuk bagian huruf yang menjorok
+
+    GlyphFont(Font font, Color color) {
+        this.font = font;
+        this.color = color;
+        this.padding = Math.max(1, font.getSize() / 4);
+
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D metricsGraphics = scratch.createGraphics();
+        // Glyph digambar dengan antialiasing sekali di sini, jadi teks HUD tetap halus
+        metricsGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        FontMetrics metrics = metricsGraphics.getFontMetrics(font);
+        ascent = metrics.getAscent();
+        int height = ascent + metrics.getDescent();
+        metricsGraphics.dispose();
+
+        for (char c = FIRST; c <= LAST; c++) {
+            int index = c - FIRST;
+            advances[index] = metrics.charWidth(c);
+            if (c == ' ') {
+                continue;
+            }
+            BufferedImage glyph = new BufferedImage(advances[index] + padding * 2, height,
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = glyph.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setFont(font);
+                g2d.setColor(color);
+                g2d.drawString(String.valueOf(c), padding, ascent);
+            } finally {
+                g2d.dispose();
+            }
+            glyphs[index] = glyph;
+        }
+    }
+
+    // Gambar chars[offset, offset + length) dengan garis dasar di y, seperti Graphics.drawChars
+    void drawChars(Graphics2D g2d, char[] chars, int offset, int length, int x, int y) {
+        for (int i = offset; i < offset + length; i++) {
+            char c = chars[i];
+            if (c < FIRST || c > LAST) {
+                g2d.setFont(font);
+                g2d.setColor(color);
+                g2d.drawChars(chars, i, 1, x, y);
+                x += g2d.getFontMetrics().charWidth(c);
+                continue;
+            }
+            int index = c - FIRST;
+            if (glyphs[index] != null) {
+                g2d.drawImage(glyphs[index], x - padding, y - ascent, null);
+            }
+            x += advances[index];
+        }
+    }
+}
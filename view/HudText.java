@@ -0,0 +1,77 @@
+package view;
+
+import java.awt.*;
+
+/**
+ * Buffer karakter yang dipakai ulang untuk teks HUD (waktu, skor, hati).
+ * Angka ditulis langsung ke array char lalu digambar dengan drawChars,
+ * sehingga menggambar HUD setiap frame tidak membuat String baru.
+ */
+final class HudText {
+    private final char[] chars;
+    private int length;
+
+    HudText(int capacity) {
+        chars = new char[capacity];
+    }
+
+    HudText clear() {
+        length = 0;
+        return this;
+    }
+
+    HudText append(String text) {
+        int count = Math.min(text.length(), chars.length - length);
+        text.getChars(0, count, chars, length);
+        length += count;
+        return this;
+    }
+
+    HudText append(char c) {
+        if (length < chars.length) {
+            chars[length++] = c;
+        }
+        return this;
+    }
+
+    // Tulis bilangan bulat dalam desimal (termasuk tanda minus)
+    HudText append(int value) {
+        if (value < 0) {
+            append('-');
+            // Integer.MIN_VALUE tidak bisa dinegasikan, jadi digit diambil dari nilai negatif
+            return appendDigits(value);
+        }
+        return appendDigits(-value);
+    }
+
+    // Tulis angka dengan minimal dua digit, seperti %02d
+    HudText appendTwoDigits(int value) {
+        if (value >= 0 && value < 10) {
+            append('0');
+        }
+        return append(value);
+    }
+
+    void draw(Graphics2D g2d, int x, int y) {
+        g2d.drawChars(chars, 0, length, x, y);
+    }
+
+    void draw(Graphics2D g2d, GlyphFont font, int x, int y) {
+        font.drawChars(g2d, chars, 0, length, x, y);
+    }
+
+    private HudText appendDigits(int negativeValue) {
+        int start = length;
+        do {
+            append((char) ('0' - negativeValue % 10));
+            negativeValue /= 10;
+        } while (negativeValue != 0);
+        // Digit ditulis dari belakang, balik urutannya
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char swap = chars[i];
+            chars[i] = chars[j];
+            chars[j] = swap;
+        }
+        return this;
+    }
+}
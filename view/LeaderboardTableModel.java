@@ -0,0 +1,112 @@
+package view;
+
+import model.DatabaseManager;
+import model.LeaderboardCache;
+import model.Log;
+import model.PlayerResult;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model for the score table that pages the leaderboard in lazily.
+ * Rows come straight from the LeaderboardCache; when the table asks for rows
+ * near the end of what is loaded, the next page is fetched on the database
+ * writer thread and appended, so opening the menu costs one small query regardless of how
+ * many players are stored.
+ */
+class LeaderboardTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Player Name", "Score", "Hearts Collected"};
+    // Start loading the next page when the table reaches this many rows before the end
+    private static final int PREFETCH_ROWS = 10;
+
+    private final DatabaseManager databaseManager;
+    private LeaderboardCache leaderboard;
+    private int rowCount = 0; // Snapshot of the cache size, only changed on the EDT
+    private boolean pageRequested = false;
+    private boolean pageFailed = false; // Stop retrying on every repaint until the next refresh
+
+    LeaderboardTableModel(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    // Re-read the cache and redraw the table (the first page is loaded by DatabaseManager.loadLeaderboardAsync)
+    void refresh() {
+        leaderboard = databaseManager != null ? databaseManager.getLeaderboard() : null;
+        rowCount = leaderboard != null ? leaderboard.size() : 0;
+        pageFailed = false;
+        fireTableDataChanged();
+    }
+
+    // Number of real player rows (without the "No scores yet" placeholder)
+    int getLoadedRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getRowCount() {
+        // Show a single placeholder row when the leaderboard is known to be empty
+        if (rowCount == 0 && leaderboard != null && leaderboard.isLoaded() && !leaderboard.hasMore()) {
+            return 1;
+        }
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Make table non-editable
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (rowCount == 0) {
+            return column == 0 ? "No scores yet..." : "";
+        }
+
+        if (row >= rowCount - PREFETCH_ROWS) {
+            requestNextPage();
+        }
+
+        PlayerResult result = leaderboard.getRow(row);
+        if (result == null) {
+            return "";
+        }
+        switch (column) {
+            case 0: return result.getUsername();
+            case 1: return result.getSkor();
+            default: return result.getCount();
+        }
+    }
+
+    // Fetch the next page in the background and append its rows when it arrives
+    private void requestNextPage() {
+        if (pageRequested || pageFailed || leaderboard == null || !leaderboard.hasMore()) {
+            return;
+        }
+        pageRequested = true;
+        databaseManager.loadNextLeaderboardPageAsync().whenComplete((added, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    pageRequested = false;
+                    if (error != null) {
+                        Log.error("Error loading next leaderboard page: {}", error.getMessage());
+                        pageFailed = true;
+                        return;
+                    }
+                    int oldCount = rowCount;
+                    rowCount = leaderboard.size();
+                    if (rowCount > oldCount) {
+                        fireTableRowsInserted(oldCount, rowCount - 1);
+                    }
+                }));
+    }
+}
@@ -1,21 +1,22 @@
 package view;
 
 import model.DatabaseManager;
+import model.Log;
 import model.PlayerResult;
+import viewmodel.GameClock;
 import viewmodel.GameEngine;
+import viewmodel.InputRecorder;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MainMenuView extends JFrame {
     
@@ -30,8 +31,25 @@ public class MainMenuView extends JFrame {
     private JLabel usernameLabel;
     private JLabel scoreLabel;
     private JComboBox<String> playerSelector;
+    private LeaderboardTableModel leaderboardModel;
     
-    // Images
+    // Images (pre-scaled to their draw size by SpriteCache)
+    private static final String BACKGROUND_PATH = "assets/background taman.png";
+    private static final int CHARACTER_SIZE = 120;
+    private static final int HEART_SIZE = 40;
+    private static final int PLAY_ICON_SIZE = 20;
+    private static final String AZZAM_PATH = "assets/Azzam Senang.png";
+    private static final String GIRL_PATH = "assets/Perempuan Cinta.png";
+    private static final String PLAY_ICON_PATH = "assets/Hati Merah.png";
+    private static final String[] HEART_PATHS = {
+        "assets/Hati Biru.png",
+        "assets/Hati Hijau.png",
+        "assets/Hati Kuning.png",
+        "assets/Hati Merah.png",
+        "assets/Hati Orange.png",
+        "assets/Hati Ungu.png",
+        "assets/Hati Potek.png"
+    };
     private BufferedImage backgroundImage;
     private BufferedImage azzamImage;
     private BufferedImage girlImage;
@@ -49,18 +67,26 @@ public class MainMenuView extends JFrame {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
+            
+            // Background is cached at the panel size, so only rescale when the size changes
+            if (backgroundImage == null
+                    || backgroundImage.getWidth() != getWidth()
+                    || backgroundImage.getHeight() != getHeight()) {
+                if (getWidth() > 0 && getHeight() > 0) {
+                    backgroundImage = SpriteCache.get(BACKGROUND_PATH, getWidth(), getHeight());
+                }
+            }
             if (backgroundImage != null) {
-                // Draw background image scaled to fit panel
-                g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), null);
+                g.drawImage(backgroundImage, 0, 0, null);
             }
             
             // Draw character images
             if (azzamImage != null) {
-                g.drawImage(azzamImage, 40, getHeight() - 180, 120, 120, null);
+                g.drawImage(azzamImage, 40, getHeight() - 180, null);
             }
             
             if (girlImage != null) {
-                g.drawImage(girlImage, getWidth() - 160, getHeight() - 180, 120, 120, null);
+                g.drawImage(girlImage, getWidth() - 160, getHeight() - 180, null);
             }
             
             // Draw hearts in a decorative pattern
@@ -70,7 +96,7 @@ public class MainMenuView extends JFrame {
                     BufferedImage heart = heartImages[i % heartImages.length];
                     int x = 100 + i * 100;
                     int y = 20 + (i % 2) * 20;  // Alternate height for visual interest
-                    g.drawImage(heart, x, y, 40, 40, null);
+                    g.drawImage(heart, x, y, null);
                 }
             }
         }
@@ -89,16 +115,16 @@ public class MainMenuView extends JFrame {
         
         // Initialize database
         try {
+            // The schema is created by the connection pool on its first successful connection
             databaseManager = DatabaseManager.getInstance();
             if (databaseManager != null) {
-                databaseManager.initializeDatabase();
-                System.out.println("Database initialized successfully in MainMenuView");
+                Log.info("Database manager ready in MainMenuView");
             } else {
                 showDatabaseError("Failed to initialize database connection.");
             }
         } catch (Exception e) {
             showDatabaseError("Error connecting to database: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error connecting to database: {}", e.getMessage(), e);
         }
         
         // Set up UI components
@@ -111,30 +137,32 @@ public class MainMenuView extends JFrame {
         setVisible(true);
         
         // Print message indicating MainMenuView is fully loaded
-        System.out.println("MainMenuView is fully loaded and visible");
+        Log.info("MainMenuView is fully loaded and visible");
+    }
+    
+    // Starts decoding the menu sprites in the background so a splash screen can show progress
+    public static List<CompletableFuture<?>> preloadAssets() {
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        loads.add(SpriteCache.load(AZZAM_PATH, CHARACTER_SIZE, CHARACTER_SIZE));
+        loads.add(SpriteCache.load(GIRL_PATH, CHARACTER_SIZE, CHARACTER_SIZE));
+        for (String path : HEART_PATHS) {
+            loads.add(SpriteCache.load(path, HEART_SIZE, HEART_SIZE));
+        }
+        loads.add(SpriteCache.load(PLAY_ICON_PATH, PLAY_ICON_SIZE, PLAY_ICON_SIZE));
+        return loads;
     }
     
     private void loadImages() {
-        try {
-            // Load background image
-            backgroundImage = ImageIO.read(new File("assets/background taman.png"));
-              // Load character images
-            azzamImage = ImageIO.read(new File("assets/Azzam Senang.png"));
-            girlImage = ImageIO.read(new File("assets/Perempuan Cinta.png"));
-            
-            // Load heart images            
-            heartImages = new BufferedImage[7]; // Support for 7 heart types including broken heart
-            heartImages[0] = ImageIO.read(new File("assets/Hati Biru.png"));
-            heartImages[1] = ImageIO.read(new File("assets/Hati Hijau.png"));
-            heartImages[2] = ImageIO.read(new File("assets/Hati Kuning.png"));
-            heartImages[3] = ImageIO.read(new File("assets/Hati Merah.png"));
-            heartImages[4] = ImageIO.read(new File("assets/Hati Orange.png"));
-            heartImages[5] = ImageIO.read(new File("assets/Hati Ungu.png"));
-            heartImages[6] = ImageIO.read(new File("assets/Hati Potek.png"));
-            
-        } catch (IOException e) {
-            System.out.println("Error loading images: " + e.getMessage());
-            e.printStackTrace();
+        // Background is loaded on first paint, once the panel size is known
+        
+        // Load character images
+        azzamImage = SpriteCache.get(AZZAM_PATH, CHARACTER_SIZE, CHARACTER_SIZE);
+        girlImage = SpriteCache.get(GIRL_PATH, CHARACTER_SIZE, CHARACTER_SIZE);
+        
+        // Load heart images
+        heartImages = new BufferedImage[HEART_PATHS.length]; // Support for 7 heart types including broken heart
+        for (int i = 0; i < HEART_PATHS.length; i++) {
+            heartImages[i] = SpriteCache.get(HEART_PATHS[i], HEART_SIZE, HEART_SIZE);
         }
     }
     
@@ -232,13 +260,12 @@ public class MainMenuView extends JFrame {
         playButton.setPreferredSize(new Dimension(120, 40));
         
         // Add heart icon to play button
-        try {
-            BufferedImage heartIcon = ImageIO.read(new File("assets/Hati Merah.png"));
-            Image scaledHeart = heartIcon.getScaledInstance(20, 20, Image.SCALE_SMOOTH);
-            playButton.setIcon(new ImageIcon(scaledHeart));
+        BufferedImage heartIcon = SpriteCache.get(PLAY_ICON_PATH, PLAY_ICON_SIZE, PLAY_ICON_SIZE);
+        if (heartIcon != null) {
+            playButton.setIcon(new ImageIcon(heartIcon));
             playButton.setIconTextGap(10);
-        } catch (Exception e) {
-            System.out.println("Could not load heart icon for button");
+        } else {
+            Log.warn("Could not load heart icon for button");
         }
         
         // Styled Quit button
@@ -263,17 +290,10 @@ public class MainMenuView extends JFrame {
         scoreLabel.setHorizontalAlignment(JLabel.CENTER);
         scoreLabel.setBorder(BorderFactory.createEmptyBorder(5, 0, 5, 0));
         
-        // Create table model with column names
-        DefaultTableModel tableModel = new DefaultTableModel(
-                new Object[][]{}, 
-                new String[]{"Player Name", "Score", "Hearts Collected"}) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        // Lazily paged table model backed by the leaderboard cache
+        leaderboardModel = new LeaderboardTableModel(databaseManager);
         
-        scoreTable = new JTable(tableModel);
+        scoreTable = new JTable(leaderboardModel);
         scoreTable.setFillsViewportHeight(true);
         scoreTable.setRowHeight(25);
         scoreTable.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -357,46 +377,26 @@ public class MainMenuView extends JFrame {
       private void loadScores() {
         try {
             if (databaseManager == null) {
-                System.out.println("Warning: Database manager is null, can't load scores");
+                Log.warn("Warning: Database manager is null, can't load scores");
                 return;
             }
             
-            ArrayList<PlayerResult> results = databaseManager.getAllResults();
-            if (results == null) {
-                System.out.println("Warning: No results returned from database");
-                return;
-            }
-            
-            DefaultTableModel tableModel = (DefaultTableModel) scoreTable.getModel();
-            
-            // Clear the table
-            tableModel.setRowCount(0);
-            
-            // Add each result to the table
-            for (PlayerResult result : results) {
-                tableModel.addRow(new Object[]{
-                        result.getUsername(),
-                        result.getSkor(),
-                        result.getCount()
-                });
-            }
-            
-            System.out.println("Loaded " + results.size() + " scores from database");
-            
-            // If no results, add a message row
-            if (results.size() == 0) {
-                tableModel.addRow(new Object[]{
-                        "No scores yet...",
-                        "",
-                        ""
-                });
-            }
-            
-            // Update player selector dropdown
-            updatePlayerSelector(results);
+            // Only the first page is read from the database, on the writer thread so the EDT never
+            // waits for MySQL; more rows are paged in on scroll
+            databaseManager.loadLeaderboardAsync().whenComplete((leaderboard, error) ->
+                    SwingUtilities.invokeLater(() -> {
+                        if (error != null) {
+                            Log.error("Error loading scores: {}", error.getMessage());
+                            return;
+                        }
+                        leaderboardModel.refresh();
+                        Log.info("Loaded {} scores into the leaderboard table", leaderboardModel.getLoadedRowCount());
+                        
+                        // Update player selector dropdown
+                        updatePlayerSelector(leaderboard.getSortedResults());
+                    }));
         } catch (Exception e) {
-            System.out.println("Error loading scores: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error loading scores: {}", e.getMessage(), e);
         }
     }
     
@@ -412,7 +412,7 @@ public class MainMenuView extends JFrame {
             playerSelector.addItem(result.getUsername());
         }
         
-        System.out.println("Player selector updated with " + results.size() + " players");
+        Log.debug("Player selector updated with {} players", results.size());
     }
     
     private void startGame() {
@@ -429,37 +429,41 @@ public class MainMenuView extends JFrame {
         setVisible(false);
         
         // Create and show game panel with score continuation if applicable
-        GameEngine gameEngine = new GameEngine();        // Set continued score and hearts if player was selected from dropdown
+        // With -Dazzam.record=DIR the game is recorded so it can be replayed with viewmodel.InputReplay
+        InputRecorder recorder = InputRecorder.getRecordingDirectory() != null
+                ? new InputRecorder(GameClock.SYSTEM) : null;
+        GameEngine gameEngine = recorder != null ? new GameEngine(recorder) : new GameEngine();
+        
+        // Set continued score and hearts if player was selected from dropdown
         if (continuedScore > 0) {
-            System.out.println("Starting game with continued data - Score: " + 
-                              continuedScore + ", Hearts: " + continuedHearts);
+            Log.info("Starting game with continued data - Score: {}, Hearts: {}", continuedScore, continuedHearts);
             
             // Set score and hearts in game engine
             setPlayerDataInGameEngine(gameEngine, continuedScore, continuedHearts);
         }
         
-        GamePanel gamePanel = new GamePanel(gameEngine, this);
+        GamePanel gamePanel = new GamePanel(gameEngine, this, recorder);
         
-        // Start game with the username
-        gameEngine.startGame(username);
+        // Start game with the username (applied on the game loop thread)
+        gamePanel.startGame(username);
     }
     
     // Method to refresh scores when returning from game
     public void refreshScores() {
-        System.out.println("Refreshing scores in MainMenuView...");
+        Log.debug("Refreshing scores in MainMenuView...");
         if (databaseManager != null) {
             loadScores();
         } else {
-            System.out.println("Cannot refresh scores - database manager is null");
+            Log.warn("Cannot refresh scores - database manager is null");
             try {
                 // Try to re-initialize database connection
                 databaseManager = DatabaseManager.getInstance();
                 if (databaseManager != null) {
-                    System.out.println("Re-established database connection, loading scores...");
+                    Log.info("Re-established database connection, loading scores...");
                     loadScores();
                 }
             } catch (Exception e) {
-                System.out.println("Failed to re-initialize database: " + e.getMessage());
+                Log.error("Failed to re-initialize database: {}", e.getMessage());
             }
         }
     }
@@ -468,15 +472,11 @@ public class MainMenuView extends JFrame {
     private void loadPlayerNames() {
         try {
             if (databaseManager == null) {
-                System.out.println("Warning: Database manager is null, can't load player names");
+                Log.warn("Warning: Database manager is null, can't load player names");
                 return;
             }
             
-            ArrayList<PlayerResult> results = databaseManager.getAllResults();
-            if (results == null) {
-                System.out.println("Warning: No results returned from database");
-                return;
-            }
+            ArrayList<PlayerResult> results = databaseManager.getLeaderboard().getSortedResults();
             
             // Clear previous items
             playerSelector.removeAllItems();
@@ -484,28 +484,14 @@ public class MainMenuView extends JFrame {
             // Add blank item first
             playerSelector.addItem("");
             
-            // Add each unique player name
+            // Names come from the loaded top page; usernames are unique, so no duplicate check is needed
             for (PlayerResult result : results) {
-                String username = result.getUsername();
-                boolean exists = false;
-                
-                // Check if name already in dropdown
-                for (int i = 0; i < playerSelector.getItemCount(); i++) {
-                    if (username.equals(playerSelector.getItemAt(i))) {
-                        exists = true;
-                        break;
-                    }
-                }
-                
-                if (!exists) {
-                    playerSelector.addItem(username);
-                }
+                playerSelector.addItem(result.getUsername());
             }
             
-            System.out.println("Loaded player names from database");
+            Log.debug("Loaded player names from leaderboard cache");
         } catch (Exception e) {
-            System.out.println("Error loading player names: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error loading player names: {}", e.getMessage(), e);
         }
     }
     
@@ -513,7 +499,8 @@ public class MainMenuView extends JFrame {
     private void loadSelectedPlayerData() {
         String selectedUsername = (String) playerSelector.getSelectedItem();
         
-        if (selectedUsername == null || selectedUsername.isEmpty()) {
+        // Index 0 is the "Select Player..." placeholder, not a player name
+        if (playerSelector.getSelectedIndex() <= 0 || selectedUsername == null || selectedUsername.isEmpty()) {
             // Clear previous continuation data
             continuedScore = 0;
             continuedHearts = 0;
@@ -522,51 +509,39 @@ public class MainMenuView extends JFrame {
         
         try {
             if (databaseManager == null) {
-                System.out.println("Warning: Database manager is null, can't load player data");
-                return;
-            }
-            
-            ArrayList<PlayerResult> results = databaseManager.getAllResults();
-            if (results == null) {
-                System.out.println("Warning: No results returned from database");
+                Log.warn("Warning: Database manager is null, can't load player data");
                 return;
             }
             
-            // Find the player's best score
-            for (PlayerResult result : results) {
-                if (selectedUsername.equals(result.getUsername())) {
-                    if (result.getSkor() > continuedScore) {
-                        continuedScore = result.getSkor();
-                        continuedHearts = result.getCount();
-                        usernameField.setText(selectedUsername);
-                    }
-                }
-            }
-            
-            System.out.println("Loaded player data for " + selectedUsername + 
-                              ": Score = " + continuedScore + ", Hearts = " + continuedHearts);
+            // Cache lookup, falling back to a single primary-key query on the database writer thread
+            databaseManager.findPlayerResultAsync(selectedUsername).whenComplete((result, error) ->
+                    SwingUtilities.invokeLater(() -> {
+                        if (error != null) {
+                            Log.error("Error loading player data: {}", error.getMessage());
+                            return;
+                        }
+                        // Ignore the answer if another player was selected while the query was running
+                        if (!selectedUsername.equals(playerSelector.getSelectedItem())) {
+                            return;
+                        }
+                        if (result != null && result.getSkor() > continuedScore) {
+                            continuedScore = result.getSkor();
+                            continuedHearts = result.getCount();
+                            usernameField.setText(selectedUsername);
+                        }
+                        
+                        Log.info("Loaded player data for {}: Score = {}, Hearts = {}",
+                                selectedUsername, continuedScore, continuedHearts);
+                    }));
         } catch (Exception e) {
-            System.out.println("Error loading player data: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error loading player data: {}", e.getMessage(), e);
         }
     }
     
-    // Helper method to set player data in game engine using reflection
+    // Helper method to set player data in game engine
     private void setPlayerDataInGameEngine(GameEngine gameEngine, int score, int heartsCollected) {
-        try {
-            // Get the methods using reflection
-            java.lang.reflect.Method setScoreMethod = gameEngine.getClass().getMethod("setScore", int.class);
-            java.lang.reflect.Method setHeartsMethod = gameEngine.getClass().getMethod("setHeartsCollected", int.class);
-            
-            // Invoke the methods
-            setScoreMethod.invoke(gameEngine, score);
-            setHeartsMethod.invoke(gameEngine, heartsCollected);
-            
-            System.out.println("Successfully set score and hearts in game engine");
-        } catch (Exception e) {
-            System.out.println("Failed to set score and hearts: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("Will continue with default values");
-        }
+        gameEngine.setScore(score);
+        gameEngine.setHeartsCollected(heartsCollected);
+        Log.debug("Successfully set score and hearts in game engine");
     }
 }
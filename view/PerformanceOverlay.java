@@ -0,0 +1,204 @@
+package view;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Panel diagnostik di atas frame permainan (ditampilkan dengan F3): FPS,
+ * grafik waktu frame, pembagian waktu update dan paint, jumlah hati,
+ * laju alokasi heap, dan jeda GC. Semua data disimpan di array berukuran
+ * tetap dan teks ditulis lewat HudText, sehingga overlay sendiri tidak
+ * membuat objek baru setiap frame dan tidak mengganggu angka yang diukurnya.
+ *
+ * recordFrame() dan draw() dipanggil thread yang menggambar frame;
+ * recordUpdate() dipanggil thread loop.
+ */
+final class PerformanceOverlay {
+    private static final int HISTORY = 120; // Jumlah frame di grafik
+    private static final long SAMPLE_NANOS = 500_000_000L; // Jendela FPS, alokasi, dan GC
+    private static final long GRAPH_MAX_NANOS = 50_000_000L; // Tinggi penuh grafik = 50 ms
+    private static final long TARGET_FRAME_NANOS = 1_000_000_000L / 60;
+    private static final int UPDATE_SMOOTHING = 8; // Rata-rata bergerak waktu update
+
+    // Tata letak panel (pojok kanan di bawah timer)
+    private static final int PANEL_WIDTH = HISTORY + 20;
+    private static final int PANEL_HEIGHT = 170;
+    private static final int GRAPH_HEIGHT = 50;
+    private static final int LINE_HEIGHT = 15;
+
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color FRAME_COLOR = new Color(80, 255, 80);
+    private static final Color PAINT_COLOR = new Color(255, 170, 40);
+    private static final Color TARGET_COLOR = new Color(255, 255, 255, 110);
+
+    private final int x;
+    private final int y;
+
+    // Ring buffer waktu antar frame dan waktu paint per frame
+    private final long[] frameNanos = new long[HISTORY];
+    private final long[] paintNanos = new long[HISTORY];
+    private int next = 0;
+    private int filled = 0;
+    private long lastFrameStart = 0;
+
+    // Titik grafik, dipakai ulang oleh drawPolyline
+    private final int[] xPoints = new int[HISTORY];
+    private final int[] yPoints = new int[HISTORY];
+    private final HudText text = new HudText(48);
+
+    // Hanya ditulis thread loop
+    private volatile long updateNanos = 0;
+
+    // Sampel per jendela SAMPLE_NANOS
+    private final GarbageCollectorMXBean[] collectors;
+    private long sampleStart = 0;
+    private int sampleFrames = 0;
+    private long lastHeapUsed = 0;
+    private long lastGcCount = 0;
+    private long lastGcMillis = 0;
+    private int framesPerSecondTenths = 0;
+    private long allocatedPerSecond = 0;
+    private long gcCount = 0;
+    private long lastGcPauseMillis = 0;
+
+    PerformanceOverlay(int width) {
+        x = width - PANEL_WIDTH - 10;
+        y = 45;
+        collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+        for (int i = 0; i < HISTORY; i++) {
+            xPoints[i] = x + 10 + i;
+        }
+    }
+
+    // Catat waktu update satu tick (dipanggil thread loop)
+    void recordUpdate(long nanos) {
+        long average = updateNanos;
+        updateNanos = average + (nanos - average) / UPDATE_SMOOTHING;
+    }
+
+    // Catat satu frame yang dimulai pada frameStart dan digambar selama paint nanodetik
+    void recordFrame(long frameStart, long paint) {
+        if (lastFrameStart != 0) {
+            frameNanos[next] = frameStart - lastFrameStart;
+            paintNanos[next] = paint;
+            next = (next + 1) % HISTORY;
+            if (filled < HISTORY) {
+                filled++;
+            }
+        }
+        lastFrameStart = frameStart;
+
+        sampleFrames++;
+        if (sampleStart == 0) {
+            sampleStart = frameStart;
+            lastHeapUsed = heapUsed();
+        } else if (frameStart - sampleStart >= SAMPLE_NANOS) {
+            sample(frameStart);
+        }
+    }
+
+    // Hitung FPS, laju alokasi, dan GC untuk jendela yang baru selesai
+    private void sample(long now) {
+        long elapsed = now - sampleStart;
+        framesPerSecondTenths = (int) (sampleFrames * 10_000_000_000L / elapsed);
+
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        long used = heapUsed();
+        if (count == lastGcCount && used >= lastHeapUsed) {
+            // Tanpa GC di jendela ini, pertambahan heap sama dengan jumlah yang dialokasikan
+            allocatedPerSecond = (used - lastHeapUsed) * 1_000_000_000L / elapsed;
+        } else if (count > lastGcCount) {
+            lastGcPauseMillis = (millis - lastGcMillis) / (count - lastGcCount);
+        }
+        gcCount = count;
+        lastGcCount = count;
+        lastGcMillis = millis;
+        lastHeapUsed = used;
+        sampleStart = now;
+        sampleFrames = 0;
+    }
+
+    private static long heapUsed() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    void draw(Graphics2D g2d, int heartCount) {
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(x, y, PANEL_WIDTH, PANEL_HEIGHT);
+        drawGraph(g2d, y + 10);
+
+        long maxFrame = 0;
+        long paintTotal = 0;
+        for (int i = 0; i < filled; i++) {
+            maxFrame = Math.max(maxFrame, frameNanos[i]);
+            paintTotal += paintNanos[i];
+        }
+        long paintAverage = filled == 0 ? 0 : paintTotal / filled;
+
+        g2d.setFont(FONT);
+        g2d.setColor(Color.WHITE);
+        int line = y + GRAPH_HEIGHT + 28;
+        text.clear().append("FPS    ").append(framesPerSecondTenths / 10).append('.')
+                .append(framesPerSecondTenths % 10).draw(g2d, x + 10, line);
+        line += LINE_HEIGHT;
+        appendMillis(text.clear().append("Maks   "), maxFrame).append(" ms").draw(g2d, x + 10, line);
+        line += LINE_HEIGHT;
+        appendMillis(text.clear().append("Update "), updateNanos).append(" ms").draw(g2d, x + 10, line);
+        line += LINE_HEIGHT;
+        g2d.setColor(PAINT_COLOR);
+        appendMillis(text.clear().append("Paint  "), paintAverage).append(" ms").draw(g2d, x + 10, line);
+        g2d.setColor(Color.WHITE);
+        line += LINE_HEIGHT;
+        text.clear().append("Hati   ").append(heartCount).draw(g2d, x + 10, line);
+        line += LINE_HEIGHT;
+        text.clear().append("Alokasi ").append((int) (allocatedPerSecond / 1024)).append(" KB/s")
+                .draw(g2d, x + 10, line);
+        line += LINE_HEIGHT;
+        text.clear().append("GC     ").append((int) gcCount).append("x, ")
+                .append((int) lastGcPauseMillis).append(" ms").draw(g2d, x + 10, line);
+    }
+
+    // Grafik waktu frame (hijau) dan paint (oranye), frame terlama di kiri; garis putih = 60 FPS
+    private void drawGraph(Graphics2D g2d, int top) {
+        int bottom = top + GRAPH_HEIGHT;
+        g2d.setColor(TARGET_COLOR);
+        int targetY = graphY(TARGET_FRAME_NANOS, bottom);
+        g2d.drawLine(x + 10, targetY, x + 10 + HISTORY - 1, targetY);
+        if (filled < 2) {
+            return;
+        }
+        int oldest = filled < HISTORY ? 0 : next;
+        drawSeries(g2d, frameNanos, oldest, bottom, FRAME_COLOR);
+        drawSeries(g2d, paintNanos, oldest, bottom, PAINT_COLOR);
+    }
+
+    private void drawSeries(Graphics2D g2d, long[] values, int oldest, int bottom, Color color) {
+        int start = HISTORY - filled; // Grafik yang belum penuh rata kanan
+        for (int i = 0; i < filled; i++) {
+            yPoints[i] = graphY(values[(oldest + i) % HISTORY], bottom);
+        }
+        g2d.setColor(color);
+        // xPoints digeser dengan translate agar array tetap dipakai ulang
+        g2d.translate(start, 0);
+        g2d.drawPolyline(xPoints, yPoints, filled);
+        g2d.translate(-start, 0);
+    }
+
+    private static int graphY(long nanos, int bottom) {
+        return bottom - (int) (Math.min(nanos, GRAPH_MAX_NANOS) * GRAPH_HEIGHT / GRAPH_MAX_NANOS);
+    }
+
+    // Tulis nanodetik sebagai milidetik dengan satu angka di belakang koma
+    private static HudText appendMillis(HudText text, long nanos) {
+        int tenths = (int) (nanos / 100_000);
+        return text.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,66 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Layar pembuka kecil yang tampil selama startup.
+ * Setiap pekerjaan latar belakang (koneksi database, decode sprite menu)
+ * didaftarkan lewat track(); progress bar maju setiap kali satu pekerjaan
+ * selesai, dan whenDone() menutup layar ini lalu menjalankan lanjutan di EDT.
+ * Semua method dipanggil dari EDT.
+ */
+public class SplashWindow extends JWindow {
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+    private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+    private int completed = 0;
+
+    public SplashWindow() {
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.setBackground(new Color(255, 240, 245));
+        content.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(255, 105, 180), 3),
+                BorderFactory.createEmptyBorder(20, 30, 20, 30)));
+
+        JLabel titleLabel = new JLabel("♥ Azzam Love Game ♥", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Comic Sans MS", Font.BOLD, 24));
+        titleLabel.setForeground(new Color(220, 20, 60));
+
+        statusLabel = new JLabel("Memuat...", SwingConstants.CENTER);
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+
+        progressBar = new JProgressBar(0, 1);
+        progressBar.setForeground(new Color(255, 105, 180));
+
+        content.add(titleLabel, BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        content.add(statusLabel, BorderLayout.SOUTH);
+        setContentPane(content);
+        setSize(360, 140);
+        setLocationRelativeTo(null);
+    }
+
+    // Daftarkan pekerjaan latar belakang; progress bar maju saat pekerjaan selesai (berhasil atau gagal)
+    public void track(String label, CompletableFuture<?> task) {
+        tasks.add(task);
+        progressBar.setMaximum(tasks.size());
+        task.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            completed++;
+            progressBar.setValue(completed);
+            statusLabel.setText(label);
+        }));
+    }
+
+    // Tutup layar pembuka lalu jalankan lanjutan di EDT setelah semua pekerjaan selesai
+    public void whenDone(Runnable next) {
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+                    dispose();
+                    next.run();
+                }));
+    }
+}
@@ -0,0 +1,262 @@
+package view;
+
+import model.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Registry sprite yang dipakai bersama oleh GamePanel dan MainMenuView.
+ * Setiap gambar PNG hanya di-decode sekali per proses, lalu diperkecil ke
+ * setiap ukuran gambar yang diminta dan disimpan sebagai gambar yang
+ * kompatibel dengan layar sehingga drawImage tidak perlu melakukan scaling
+ * atau konversi format setiap frame.
+ *
+ * Entri diberi kunci path dan ukuran. acquire() menambah jumlah pemakai dan
+ * menahan gambar di memori sampai release() dipanggil; entri tanpa pemakai
+ * hanya disimpan lewat SoftReference, sehingga ronde berikutnya tidak perlu
+ * decode ulang tetapi GC tetap boleh membuangnya saat memori menipis.
+ * Gambar sumber berukuran penuh (bisa puluhan MB per file) hanya ditahan
+ * selama masih ada ukuran yang sedang diperkecil darinya, lalu dilepas.
+ * Decoding berjalan paralel di thread latar belakang; load() mengembalikan
+ * future sedangkan get() menunggu hasilnya (langsung jika sudah dimuat).
+ */
+final class SpriteCache {
+    // Dijaga oleh kunci kelas SpriteCache (method static synchronized)
+    private static final Map<String, Entry> sprites = new HashMap<>();
+    private static final Map<String, Source> sources = new HashMap<>();
+    private static final ExecutorService loader = createLoader();
+
+    static {
+        // Decode langsung di memori, tanpa file cache sementara milik ImageIO
+        ImageIO.setUseCache(false);
+    }
+
+    // Satu sprite pada ukuran tertentu
+    private static final class Entry {
+        CompletableFuture<BufferedImage> image; // Referensi kuat, selama dipakai atau sedang dimuat
+        SoftReference<BufferedImage> released;  // Sisa gambar setelah tidak ada pemakai
+        int references;
+    }
+
+    // Gambar sumber berukuran penuh yang sedang dipakai untuk memperkecil
+    private static final class Source {
+        final CompletableFuture<BufferedImage> image;
+        int pending; // Jumlah ukuran yang belum selesai diperkecil dari sumber ini
+
+        Source(CompletableFuture<BufferedImage> image) {
+            this.image = image;
+        }
+    }
+
+    private SpriteCache() {
+    }
+
+    // Ambil sprite dengan ukuran tertentu tanpa menahannya; null jika file tidak dapat dibaca
+    static BufferedImage get(String path, int width, int height) {
+        return load(path, width, height).join();
+    }
+
+    // Ambil versi sprite yang dicerminkan secara horizontal (pengganti scale(-1, 1) saat menggambar)
+    static BufferedImage getMirrored(String path, int width, int height) {
+        return loadMirrored(path, width, height).join();
+    }
+
+    // Ambil sprite dan tahan di memori sampai release() dengan argumen yang sama
+    static BufferedImage acquire(String path, int width, int height) {
+        return lookup(key(path, width, height, false), () -> decode(path, width, height), true).join();
+    }
+
+    static BufferedImage acquireMirrored(String path, int width, int height) {
+        return lookup(key(path, width, height, true), () -> mirror(path, width, height), true).join();
+    }
+
+    static void release(String path, int width, int height) {
+        release(key(path, width, height, false));
+    }
+
+    static void releaseMirrored(String path, int width, int height) {
+        release(key(path, width, height, true));
+    }
+
+    // Mulai memuat sprite di latar belakang; future selesai dengan null jika file tidak dapat dibaca
+    static CompletableFuture<BufferedImage> load(String path, int width, int height) {
+        return lookup(key(path, width, height, false), () -> decode(path, width, height), false);
+    }
+
+    static CompletableFuture<BufferedImage> loadMirrored(String path, int width, int height) {
+        return lookup(key(path, width, height, true), () -> mirror(path, width, height), false);
+    }
+
+    private static synchronized CompletableFuture<BufferedImage> lookup(
+            String key, Supplier<CompletableFuture<BufferedImage>> loadImage, boolean acquire) {
+        Entry entry = sprites.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            sprites.put(key, entry);
+        }
+        if (acquire) {
+            entry.references++;
+        }
+        CompletableFuture<BufferedImage> image = entry.image;
+        if (image == null) {
+            BufferedImage cached = entry.released != null ? entry.released.get() : null;
+            image = cached != null ? CompletableFuture.completedFuture(cached) : loadImage.get();
+            entry.image = image;
+            entry.released = null;
+            if (entry.references == 0) {
+                // Dimuat tanpa pemakai (prefetch): turunkan ke SoftReference setelah selesai
+                Entry loaded = entry;
+                image.whenComplete((result, error) -> demote(loaded));
+            }
+        }
+        return image;
+    }
+
+    private static synchronized void release(String key) {
+        Entry entry = sprites.get(key);
+        if (entry == null || entry.references == 0) {
+            Log.warn("SpriteCache: release tanpa acquire untuk {}", key);
+            return;
+        }
+        entry.references--;
+        if (entry.references == 0 && entry.image != null) {
+            Entry released = entry;
+            entry.image.whenComplete((image, error) -> demote(released));
+        }
+    }
+
+    // Lepas referensi kuat ke gambar yang sudah tidak dipakai
+    private static synchronized void demote(Entry entry) {
+        if (entry.references > 0 || entry.image == null || !entry.image.isDone()) {
+            return;
+        }
+        if (entry.image.isCompletedExceptionally()) {
+            // Coba muat ulang pada permintaan berikutnya
+            entry.image = null;
+            return;
+        }
+        BufferedImage image = entry.image.getNow(null);
+        if (image != null) {
+            entry.released = new SoftReference<>(image);
+            entry.image = null;
+        }
+        // File yang hilang tetap diingat (future berisi null) agar tidak dibaca ulang setiap kali
+    }
+
+    // Gambar sumber berukuran penuh dipakai bersama oleh ukuran yang diminta pada saat yang sama
+    private static synchronized CompletableFuture<BufferedImage> acquireSource(String path) {
+        Source source = sources.get(path);
+        if (source == null) {
+            source = new Source(CompletableFuture.supplyAsync(() -> read(path), loader));
+            sources.put(path, source);
+        }
+        source.pending++;
+        return source.image;
+    }
+
+    // Lepas sumber setelah ukuran terakhir selesai; hanya sprite kecil yang tetap di cache
+    private static synchronized void releaseSource(String path) {
+        Source source = sources.get(path);
+        if (source != null && --source.pending == 0) {
+            sources.remove(path);
+        }
+    }
+
+    private static CompletableFuture<BufferedImage> decode(String path, int width, int height) {
+        CompletableFuture<BufferedImage> scaled = acquireSource(path).thenApplyAsync(
+                source -> source != null ? scale(source, width, height, false) : null, loader);
+        scaled.whenComplete((image, error) -> releaseSource(path));
+        return scaled;
+    }
+
+    // Versi cermin dibuat dari sprite dasar yang sudah diperkecil, bukan dari sumber berukuran penuh
+    private static CompletableFuture<BufferedImage> mirror(String path, int width, int height) {
+        return load(path, width, height).thenApplyAsync(
+                sprite -> sprite != null ? scale(sprite, width, height, true) : null, loader);
+    }
+
+    private static BufferedImage read(String path) {
+        try {
+            BufferedImage source = ImageIO.read(new File(path));
+            if (source == null) {
+                Log.warn("Format gambar tidak dikenali: {}", path);
+            }
+            return source;
+        } catch (IOException e) {
+            Log.error("Error loading image {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // Thread daemon sebanyak inti CPU (minimal dua agar decode tetap tumpang tindih dengan I/O)
+    private static ExecutorService createLoader() {
+        AtomicInteger count = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "SpriteLoader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    private static String key(String path, int width, int height, boolean mirrored) {
+        return path + "@" + width + "x" + height + (mirrored ? "#mirrored" : "");
+    }
+
+    // Perkecil gambar secara bertahap (setengah demi setengah) agar hasilnya tetap halus
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean mirrored) {
+        Image current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        while (currentWidth / 2 >= width && currentHeight / 2 >= height) {
+            currentWidth /= 2;
+            currentHeight /= 2;
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2d.dispose();
+            current = step;
+        }
+
+        boolean translucent = source.getColorModel().hasAlpha();
+        BufferedImage result = createCompatibleImage(width, height, translucent);
+        Graphics2D g2d = result.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        if (mirrored) {
+            g2d.drawImage(current, width, 0, -width, height, null);
+        } else {
+            g2d.drawImage(current, 0, 0, width, height, null);
+        }
+        g2d.dispose();
+        return result;
+    }
+
+    // Buat gambar dengan format piksel yang sama dengan layar agar blit tidak perlu konversi
+    private static BufferedImage createCompatibleImage(int width, int height, boolean translucent) {
+        int transparency = translucent ? Transparency.TRANSLUCENT : Transparency.OPAQUE;
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                translucent ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+    }
+}
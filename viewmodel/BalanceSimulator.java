@@ -0,0 +1,223 @@
+package viewmodel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulasi Monte-Carlo untuk menyetel keseimbangan permainan: ribuan permainan
+ * headless dijalankan paralel di ForkJoinPool dengan angka GameBalance yang
+ * dapat diubah dari baris perintah, lalu distribusi skor, hati yang
+ * dikumpulkan, dan hati rusak yang tertangkap dicetak sebagai histogram.
+ *
+ * Seed engine dan kebijakan input permainan ke-i diturunkan dari (seed, i)
+ * dengan HeadlessRunner.engineSeed/policySeed, jadi hasilnya identik berapa pun
+ * jumlah thread dan dapat dibandingkan langsung antar-konfigurasi (common random numbers).
+ *
+ * Contoh: java -cp . viewmodel.BalanceSimulator --games 20000 --broken 25 --points 3,4,5,6,7,2,-20
+ */
+public class BalanceSimulator {
+    private static final int TICKS_PER_SECOND = 60; // Sama dengan GamePanel
+    private static final int GAMES_PER_TASK = 16;   // Ukuran tugas terkecil sebelum tidak dibagi lagi
+    private static final int HISTOGRAM_BUCKETS = 20;
+    private static final int HISTOGRAM_WIDTH = 50;  // Panjang bar terpanjang dalam karakter
+
+    // Hasil setiap permainan ditulis ke indeksnya sendiri, jadi tugas paralel tidak perlu dikunci
+    private static final class Results {
+        final int[] scores;
+        final int[] hearts;
+        final int[] brokenHearts;
+        final long[] ticks;
+
+        Results(int games) {
+            scores = new int[games];
+            hearts = new int[games];
+            brokenHearts = new int[games];
+            ticks = new long[games];
+        }
+    }
+
+    // Jalankan permainan [from, to); dibagi dua sampai cukup kecil
+    private static final class SimulationTask extends RecursiveAction {
+        private final GameBalance balance;
+        private final String policyName;
+        private final long seed;
+        private final Results results;
+        private final int from;
+        private final int to;
+
+        SimulationTask(GameBalance balance, String policyName, long seed, Results results, int from, int to) {
+            this.balance = balance;
+            this.policyName = policyName;
+            this.seed = seed;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GAMES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SimulationTask(balance, policyName, seed, results, from, middle),
+                        new SimulationTask(balance, policyName, seed, results, middle, to));
+                return;
+            }
+            for (int game = from; game < to; game++) {
+                TickClock clock = new TickClock(TICKS_PER_SECOND);
+                GameEngine engine = GameEngine.headless(clock, HeadlessRunner.engineSeed(seed, game), balance);
+                HeadlessRunner.InputPolicy policy = HeadlessRunner.createPolicy(policyName, HeadlessRunner.policySeed(seed, game));
+                results.ticks[game] = HeadlessRunner.runGame(engine, clock, policy);
+                results.scores[game] = engine.getScore();
+                results.hearts[game] = engine.getHeartsCollected();
+                results.brokenHearts[game] = engine.getBrokenHeartsCaught();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = 10000;
+        long seed = 1;
+        String policyName = "scripted";
+        int threads = Runtime.getRuntime().availableProcessors();
+        GameBalance balance = GameBalance.DEFAULT;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--policy":
+                        policyName = args[++i];
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--points":
+                        balance = balance.withHeartPoints(parsePoints(args[++i]));
+                        break;
+                    case "--broken":
+                        balance = balance.withBrokenHeartPercent(Integer.parseInt(args[++i]));
+                        break;
+                    case "--respawn":
+                        balance = balance.withRespawnPercent(Integer.parseInt(args[++i]));
+                        break;
+                    case "--spawn":
+                        balance = balance.withSpawnPercent(Integer.parseInt(args[++i]));
+                        break;
+                    case "--initial":
+                        balance = balance.withInitialHearts(Integer.parseInt(args[++i]));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Argumen tidak dikenal: " + args[i]);
+                }
+            }
+            // Pastikan nama kebijakan valid sebelum ribuan tugas dibuat
+            HeadlessRunner.createPolicy(policyName, seed);
+        } catch (RuntimeException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Pemakaian: BalanceSimulator [--games N] [--seed S] [--policy scripted|random]"
+                    + " [--threads N] [--points B,H,K,M,O,U,R] [--broken %] [--respawn %] [--spawn %] [--initial N]");
+            System.exit(2);
+            return;
+        }
+
+        Results results = new Results(games);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        long startNanos = System.nanoTime();
+        try {
+            pool.invoke(new SimulationTask(balance, policyName, seed, results, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        long totalTicks = 0;
+        for (long ticks : results.ticks) {
+            totalTicks += ticks;
+        }
+        System.out.println("Keseimbangan    : " + balance);
+        System.out.println("Permainan       : " + games + " (kebijakan " + policyName + ", seed " + seed
+                + ", " + pool.getParallelism() + " thread)");
+        System.out.printf("Waktu           : %.3f s (%.0f permainan/s, %.0f tick/s)%n",
+                seconds, games / seconds, totalTicks / seconds);
+        if (games == 0) {
+            return;
+        }
+
+        printDistribution("Skor", results.scores);
+        printDistribution("Hati", results.hearts);
+        printDistribution("Hati rusak", results.brokenHearts);
+        System.out.println();
+        System.out.println("Histogram skor:");
+        printHistogram(results.scores);
+    }
+
+    private static int[] parsePoints(String text) {
+        String[] parts = text.split(",");
+        int[] points = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            points[i] = Integer.parseInt(parts[i].trim());
+        }
+        return points;
+    }
+
+    // Rata-rata, simpangan baku, dan persentil (tepat, dari nilai yang sudah diurutkan)
+    private static void printDistribution(String label, int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (int value : sorted) {
+            sum += value;
+        }
+        double mean = sum / sorted.length;
+        double squares = 0;
+        for (int value : sorted) {
+            squares += (value - mean) * (value - mean);
+        }
+        double deviation = Math.sqrt(squares / sorted.length);
+        System.out.printf("%-16s: rata-rata %.2f, simpangan %.2f, min %d, p10 %d, p50 %d, p90 %d, p99 %d, maks %d%n",
+                label, mean, deviation, sorted[0], percentile(sorted, 10), percentile(sorted, 50),
+                percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]);
+    }
+
+    private static int percentile(int[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // Histogram dengan lebar bucket bulat yang mencakup skor terkecil sampai terbesar
+    private static void printHistogram(int[] values) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        int width = Math.max(1, (int) Math.ceil((max - min + 1) / (double) HISTOGRAM_BUCKETS));
+        int first = Math.floorDiv(min, width) * width;
+        int buckets = (max - first) / width + 1;
+        int[] counts = new int[buckets];
+        for (int value : values) {
+            counts[(value - first) / width]++;
+        }
+        int largest = 0;
+        for (int count : counts) {
+            largest = Math.max(largest, count);
+        }
+        StringBuilder bar = new StringBuilder(HISTOGRAM_WIDTH);
+        for (int i = 0; i < buckets; i++) {
+            int low = first + i * width;
+            bar.setLength(0);
+            int length = (int) Math.round((double) counts[i] * HISTOGRAM_WIDTH / largest);
+            for (int j = 0; j < length; j++) {
+                bar.append('#');
+            }
+            System.out.printf("%6d..%-6d %7d %s%n", low, low + width - 1, counts[i], bar);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package viewmodel;
+
+import java.awt.*;
+
+/**
+ * Salinan status permainan pada akhir satu tick, diterbitkan GameEngine
+ * lewat TripleBuffer. Setelah diterbitkan snapshot tidak diubah lagi sampai
+ * pembaca melepasnya, sehingga thread render dapat membacanya tanpa kunci
+ * sementara thread loop sudah mengisi snapshot berikutnya. Objek snapshot
+ * dipakai ulang, jadi jangan simpan referensinya melewati satu frame.
+ */
+public final class FrameSnapshot implements RenderState {
+    private long tick = -1; // Nomor tick saat snapshot diambil, -1 jika belum pernah diisi
+    private boolean running;
+    private final Point playerPosition = new Point();
+    private final Point previousPlayerPosition = new Point();
+    private final Point girlPosition = new Point();
+    private final HeartPool hearts = new HeartPool(8);
+    private boolean lassoActive;
+    private final Point lassoStart = new Point();
+    private final Point previousLassoStart = new Point();
+    private final Point lassoEnd = new Point();
+    private final Point previousLassoEnd = new Point();
+    private int score;
+    private int heartsCollected;
+    private long timeRemaining;
+    private boolean facingRight = true;
+    private boolean girlFacingRight = true;
+    private int emotionState;
+
+    FrameSnapshot() {
+    }
+
+    // Salin status dari engine (dipanggil di thread loop pada buffer belakang)
+    void copyFrom(RenderState source, long sourceTick) {
+        tick = sourceTick;
+        running = source.isRunning();
+        playerPosition.setLocation(source.getPlayerPosition());
+        previousPlayerPosition.setLocation(source.getPreviousPlayerPosition());
+        girlPosition.setLocation(source.getGirlPosition());
+        hearts.copyFrom(source.getHearts());
+        lassoActive = source.hasLasso();
+        if (lassoActive) {
+            lassoStart.setLocation(source.getLassoStart());
+            previousLassoStart.setLocation(source.getPreviousLassoStart());
+            lassoEnd.setLocation(source.getLassoEnd());
+            previousLassoEnd.setLocation(source.getPreviousLassoEnd());
+        }
+        score = source.getScore();
+        heartsCollected = source.getHeartsCollected();
+        timeRemaining = source.getTimeRemaining();
+        facingRight = source.isFacingRight();
+        girlFacingRight = source.isGirlFacingRight();
+        emotionState = source.getEmotionState();
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public Point getPlayerPosition() {
+        return playerPosition;
+    }
+
+    @Override
+    public Point getPreviousPlayerPosition() {
+        return previousPlayerPosition;
+    }
+
+    @Override
+    public Point getGirlPosition() {
+        return girlPosition;
+    }
+
+    @Override
+    public HeartView getHearts() {
+        return hearts;
+    }
+
+    @Override
+    public boolean hasLasso() {
+        return lassoActive;
+    }
+
+    @Override
+    public Point getLassoStart() {
+        return lassoStart;
+    }
+
+    @Override
+    public Point getPreviousLassoStart() {
+        return previousLassoStart;
+    }
+
+    @Override
+    public Point getLassoEnd() {
+        return lassoEnd;
+    }
+
+    @Override
+    public Point getPreviousLassoEnd() {
+        return previousLassoEnd;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public int getHeartsCollected() {
+        return heartsCollected;
+    }
+
+    @Override
+    public long getTimeRemaining() {
+        return timeRemaining;
+    }
+
+    @Override
+    public boolean isFacingRight() {
+        return facingRight;
+    }
+
+    @Override
+    public boolean isGirlFacingRight() {
+        return girlFacingRight;
+    }
+
+    @Override
+    public int getEmotionState() {
+        return emotionState;
+    }
+}
@@ -0,0 +1,104 @@
+package viewmodel;
+
+import java.util.Arrays;
+
+/**
+ * Angka keseimbangan permainan: poin tiap tipe hati dan peluang munculnya hati.
+ * Peluang dinyatakan dalam persen (bilangan bulat 0-100) karena engine mengundi
+ * dengan random.nextInt(100); dengan DEFAULT engine mengambil angka acak yang
+ * sama persis seperti sebelum angka-angka ini dipindahkan ke sini, sehingga
+ * seed lama tetap menghasilkan permainan yang sama.
+ *
+ * Objek tidak dapat diubah; varian dibuat dengan method with...().
+ */
+public final class GameBalance {
+    public static final int HEART_TYPES = 7;
+    public static final int BROKEN_HEART_TYPE = 6;
+
+    // Diindeks berdasarkan tipe hati
+    private static final int[] DEFAULT_POINTS = {
+        3,   // Biru
+        4,   // Hijau
+        5,   // Kuning
+        6,   // Merah
+        7,   // Oranye
+        2,   // Ungu
+        -12  // Rusak
+    };
+
+    public static final GameBalance DEFAULT = new GameBalance(DEFAULT_POINTS, 15, 50, 1, 3);
+
+    private final int[] heartPoints;
+    private final int brokenHeartPercent; // Peluang hati baru berupa hati rusak
+    private final int respawnPercent;     // Peluang hati baru muncul saat hati keluar layar
+    private final int spawnPercent;       // Peluang hati baru muncul di setiap tick
+    private final int initialHearts;      // Hati di layar saat permainan dimulai
+
+    public GameBalance(int[] heartPoints, int brokenHeartPercent, int respawnPercent,
+                       int spawnPercent, int initialHearts) {
+        if (heartPoints.length != HEART_TYPES) {
+            throw new IllegalArgumentException("Dibutuhkan poin untuk " + HEART_TYPES + " tipe hati");
+        }
+        this.heartPoints = heartPoints.clone();
+        this.brokenHeartPercent = checkPercent(brokenHeartPercent);
+        this.respawnPercent = checkPercent(respawnPercent);
+        this.spawnPercent = checkPercent(spawnPercent);
+        if (initialHearts < 0) {
+            throw new IllegalArgumentException("Jumlah hati awal tidak boleh negatif");
+        }
+        this.initialHearts = initialHearts;
+    }
+
+    private static int checkPercent(int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Peluang harus 0-100 persen: " + percent);
+        }
+        return percent;
+    }
+
+    public int getPoints(int heartType) {
+        return heartPoints[heartType];
+    }
+
+    public int getBrokenHeartPercent() {
+        return brokenHeartPercent;
+    }
+
+    public int getRespawnPercent() {
+        return respawnPercent;
+    }
+
+    public int getSpawnPercent() {
+        return spawnPercent;
+    }
+
+    public int getInitialHearts() {
+        return initialHearts;
+    }
+
+    public GameBalance withHeartPoints(int[] heartPoints) {
+        return new GameBalance(heartPoints, brokenHeartPercent, respawnPercent, spawnPercent, initialHearts);
+    }
+
+    public GameBalance withBrokenHeartPercent(int percent) {
+        return new GameBalance(heartPoints, percent, respawnPercent, spawnPercent, initialHearts);
+    }
+
+    public GameBalance withRespawnPercent(int percent) {
+        return new GameBalance(heartPoints, brokenHeartPercent, percent, spawnPercent, initialHearts);
+    }
+
+    public GameBalance withSpawnPercent(int percent) {
+        return new GameBalance(heartPoints, brokenHeartPercent, respawnPercent, percent, initialHearts);
+    }
+
+    public GameBalance withInitialHearts(int count) {
+        return new GameBalance(heartPoints, brokenHeartPercent, respawnPercent, spawnPercent, count);
+    }
+
+    @Override
+    public String toString() {
+        return "poin " + Arrays.toString(heartPoints) + ", rusak " + brokenHeartPercent + "%, muncul ulang "
+                + respawnPercent + "%, muncul per tick " + spawnPercent + "%, hati awal " + initialHearts;
+    }
+}
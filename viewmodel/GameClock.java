@@ -0,0 +1,13 @@
+package viewmodel;
+
+/**
+ * Sumber waktu untuk GameEngine. Permainan biasa memakai jam sistem,
+ * sedangkan simulasi headless memakai TickClock agar engine dapat
+ * dijalankan lebih cepat dari waktu nyata dengan hasil yang sama.
+ */
+public interface GameClock {
+    // Jam dinding sistem
+    GameClock SYSTEM = System::currentTimeMillis;
+
+    long currentTimeMillis();
+}
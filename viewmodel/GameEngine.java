@@ -1,24 +1,30 @@
 package viewmodel;
 
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 import model.DatabaseManager;
+import model.Log;
+import model.Metrics;
 import model.PlayerResult;
 
-public class GameEngine {    // Konstanta permainan
-    private static final int SCREEN_WIDTH = 800;
-    private static final int SCREEN_HEIGHT = 600;
+public class GameEngine implements RenderState {    // Konstanta permainan
+    static final int SCREEN_WIDTH = 800;
+    static final int SCREEN_HEIGHT = 600;
     private static final int PLAYER_SPEED = 5;
     private static final int HEART_SPEED_MIN = 1;
     private static final int HEART_SPEED_MAX = 3;
     private static final int GAME_DURATION_MS = 60000; // 1 menit dalam milidetik
+    private static final int DEFAULT_MAX_HEARTS = 7; // Batas hati normal di layar
+    private static final int LASSO_CATCH_RADIUS = 30;
+    private static final int GRID_CELL_SIZE = 64; // Kira-kira ukuran gambar hati
       // Status permainan
     private boolean isRunning;
     private String currentUsername;
     private int score;
     private int heartsCollected;
+    private int brokenHeartsCaught; // Hati dengan poin negatif yang tertangkap
     private long startTime;
     private long timeRemaining;
     private boolean facingRight; // Untuk arah karakter
@@ -27,41 +33,114 @@ public class GameEngine {    // Konstanta permainan
     private boolean heartReachedGirl; // Bendera untuk memainkan suara pencapaian
       // Objek permainan
     private Point playerPosition;
+    private Point previousPlayerPosition; // Posisi pada tick sebelumnya untuk interpolasi render
     private Point girlPosition;
-    private ArrayList<Heart> hearts;
-    private Lasso lasso;
+    private HeartPool hearts; // Struct-of-arrays, lihat HeartPool
+    private Lasso lasso; // null jika tidak ada laso yang sedang dilempar
+    private final Lasso reusableLasso = new Lasso(new Point(), new Point());
     
-    // Generator acak
-    private Random random;
+    // Broad-phase tabrakan dan buffer kandidat (dipakai ulang setiap tick)
+    private HeartGrid heartGrid;
+    private int[] collisionCandidates = new int[64];
+    
+    // Batas jumlah hati; mode stress mengisi layar sampai batas ini setiap tick
+    private int maxHearts;
+    private boolean stressMode;
+    
+    // Generator acak dengan seed yang diketahui, agar permainan dapat direkam dan diputar ulang
+    private final GameRandom random;
+    private final long seed;
+    
+    // Poin hati dan peluang kemunculan
+    private final GameBalance balance;
+    
+    // Sumber waktu; mode headless tidak memakai database maupun audio
+    private final GameClock clock;
+    private final boolean headless;
     
     // Pengelola database
     private DatabaseManager databaseManager;
+    // Penyimpanan hasil yang sedang berjalan di latar belakang (null jika belum ada)
+    private CompletableFuture<Void> saveFuture;
+    
+    // Snapshot render yang diterbitkan setiap tick untuk thread render (tanpa kunci)
+    private final TripleBuffer<FrameSnapshot> snapshots =
+            new TripleBuffer<>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+    private long tickCount;
+    
+    // Metrik runtime; null pada simulasi headless
+    private final Metrics.Timer tickTimer;
+    private final Metrics.Gauge heartGauge;
     
     // Konstruktor
     public GameEngine() {
-        random = new Random();
-        hearts = new ArrayList<>();
+        this(GameClock.SYSTEM);
+    }
+    
+    // Permainan biasa dengan sumber waktu tertentu (misalnya InputRecorder) dan seed acak baru
+    public GameEngine(GameClock clock) {
+        this(clock, new Random().nextLong(), GameBalance.DEFAULT, false);
+    }
+    
+    private GameEngine(GameClock clock, long seed, GameBalance balance, boolean headless) {
+        this.clock = clock;
+        this.seed = seed;
+        this.balance = balance;
+        this.random = new GameRandom(seed);
+        this.headless = headless;
+        heartGrid = new HeartGrid(-100, -100, SCREEN_WIDTH + 100, SCREEN_HEIGHT + 100, GRID_CELL_SIZE);
+        
+        // Batas hati dapat dinaikkan untuk uji beban, misalnya -Dazzam.maxHearts=5000 -Dazzam.stress=true
+        maxHearts = Math.max(1, Integer.getInteger("azzam.maxHearts", DEFAULT_MAX_HEARTS));
+        stressMode = Boolean.getBoolean("azzam.stress");
+        
+        // Siapkan kapasitas penuh di awal agar memunculkan hati tidak mengalokasikan memori
+        hearts = new HeartPool(maxHearts + 1);
+        
+        tickTimer = headless ? null : Metrics.timer("engine.tick");
+        heartGauge = headless ? null : Metrics.gauge("engine.hearts");
           // Inisialisasi pengelola database
-        try {
-            databaseManager = DatabaseManager.getInstance();
-            if (databaseManager == null) {
-                System.out.println("Peringatan: Gagal menginisialisasi pengelola database di GameEngine");
-            } else {
-                System.out.println("Pengelola database berhasil diinisialisasi di GameEngine");
+        if (!headless) {
+            try {
+                databaseManager = DatabaseManager.getInstance();
+                if (databaseManager == null) {
+                    Log.warn("Peringatan: Gagal menginisialisasi pengelola database di GameEngine");
+                } else {
+                    Log.debug("Pengelola database berhasil diinisialisasi di GameEngine");
+                }
+            } catch (Exception e) {
+                Log.error("Kesalahan inisialisasi pengelola database di GameEngine: {}", e.getMessage(), e);
             }
-        } catch (Exception e) {
-            System.out.println("Kesalahan inisialisasi pengelola database di GameEngine: " + e.getMessage());
-            e.printStackTrace();
         }
         
         // Initialize game state
         reset();
     }
+    
+    // Engine untuk simulasi tanpa layar: tanpa database dan audio, waktu dari clock yang diberikan,
+    // dan angka acak dari seed sehingga hasilnya dapat diulang
+    public static GameEngine headless(GameClock clock, long seed) {
+        return headless(clock, seed, GameBalance.DEFAULT);
+    }
+    
+    // Engine headless dengan angka keseimbangan lain (untuk simulasi keseimbangan)
+    public static GameEngine headless(GameClock clock, long seed, GameBalance balance) {
+        return new GameEngine(clock, seed, balance, true);
+    }
+    
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
       // Atur ulang status permainan
     public void reset() {
         isRunning = false;
         score = 0;
         heartsCollected = 0;
+        brokenHeartsCaught = 0;
         timeRemaining = GAME_DURATION_MS;
         facingRight = true;
         girlFacingRight = true;
@@ -69,6 +148,7 @@ public class GameEngine {    // Konstanta permainan
         heartReachedGirl = false;
           // Inisialisasi posisi pemain (sisi kiri, tengah)
         playerPosition = new Point(50, SCREEN_HEIGHT / 2);
+        previousPlayerPosition = new Point(playerPosition);
         
         // Inisialisasi posisi perempuan (pusat layar)
         girlPosition = new Point(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2);
@@ -84,9 +164,9 @@ public class GameEngine {    // Konstanta permainan
         if (username != null && !username.trim().isEmpty()) {
             currentUsername = username;            
             isRunning = true;
-            startTime = System.currentTimeMillis();
+            startTime = clock.currentTimeMillis();
             // Mulai dengan lebih sedikit hati
-            for (int i = 0; i < 3; i++) {
+            for (int i = 0; i < balance.getInitialHearts(); i++) {
                 spawnHeart();
             }
         }
@@ -95,75 +175,79 @@ public class GameEngine {    // Konstanta permainan
     public void endGame() {
         if (isRunning) {
             isRunning = false;
-            System.out.println("\n========== PERMAINAN BERAKHIR ==========");
-            System.out.println("Skor Akhir: " + score);
-            System.out.println("Hati yang Dikumpulkan: " + heartsCollected);
+            if (headless) {
+                // Simulasi tidak memutar suara dan tidak menyimpan hasil
+                return;
+            }
+            Log.info("Permainan berakhir - skor akhir: {}, hati yang dikumpulkan: {}", score, heartsCollected);
             
             // Hentikan semua suara saat permainan berakhir
             try {
                 model.AudioPlayer audioPlayer = model.AudioPlayer.getInstance();
                 if (audioPlayer != null) {
                     audioPlayer.stopAllSounds();
-                    System.out.println("Semua suara dihentikan saat akhir permainan");
+                    Log.debug("Semua suara dihentikan saat akhir permainan");
                 }
             } catch (Exception e) {
-                System.out.println("Kesalahan menghentikan suara: " + e.getMessage());
+                Log.warn("Kesalahan menghentikan suara: {}", e.getMessage());
             }
               // Simpan hasil ke database
             if (currentUsername != null && !currentUsername.isEmpty()) {
                 try {
-                    System.out.println("Mencoba menyimpan hasil permainan ke database");
-                    System.out.println("Nama pengguna: " + currentUsername);
-                    System.out.println("Skor: " + score);
-                    System.out.println("Hati: " + heartsCollected);
+                    Log.info("Menyimpan hasil permainan {} (skor {}, hati {})", currentUsername, score, heartsCollected);
                     
-                    // Selalu dapatkan instance pengelola database yang baru
                     databaseManager = DatabaseManager.getInstance();
                     
                     if (databaseManager != null) {
-                        // Paksa inisialisasi database untuk memastikan tabel ada
-                        databaseManager.initializeDatabase();
-                        
                         // Create player result 
                         PlayerResult result = new PlayerResult(currentUsername, score, heartsCollected);
-                          // Debug objek hasil pemain
-                        System.out.println("Objek PlayerResult dibuat:");
-                        System.out.println(" - Nama pengguna: " + result.getUsername());
-                        System.out.println(" - Skor: " + result.getSkor());
-                        System.out.println(" - Hati: " + result.getCount());
                         
-                        // Simpan ke database dengan penanganan kesalahan yang lebih baik
-                        try {
-                            System.out.println("Calling savePlayerResult...");
-                            databaseManager.savePlayerResult(result);
-                            System.out.println("savePlayerResult completed");
-                        } catch (Exception dbEx) {
-                            System.out.println("Critical error saving to database: " + dbEx.getMessage());
-                            dbEx.printStackTrace();
-                        }
+                        // Simpan di thread penulis latar belakang agar EDT dan loop permainan tidak tertahan
+                        saveFuture = databaseManager.savePlayerResultAsync(result);
+                        saveFuture.whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                Log.error("Critical error saving to database: {}", error.getMessage());
+                            } else {
+                                Log.debug("savePlayerResult completed");
+                            }
+                        });
                     } else {
-                        System.out.println("CRITICAL ERROR: Database manager is null, can't save game result!");
+                        Log.error("CRITICAL ERROR: Database manager is null, can't save game result!");
                     }
                 } catch (Exception e) {
-                    System.out.println("Unexpected error in endGame: " + e.getMessage());
-                    e.printStackTrace();
+                    Log.error("Unexpected error in endGame: {}", e.getMessage(), e);
                 }
             } else {
-                System.out.println("Cannot save result: username is empty or null");
+                Log.warn("Cannot save result: username is empty or null");
             }
             
-            System.out.println("============================\n");
               // Periksa kembali bahwa status permainan diakhiri dengan benar
             isRunning = false;
         }
     }
     
-    // Perbarui status permainan (dipanggil dalam loop permainan)
+    // Perbarui status permainan (dipanggil dalam loop permainan) lalu terbitkan snapshot untuk renderer
     public void update() {
         if (!isRunning) return;
         
+        long start = headless ? 0 : System.nanoTime();
+        step();
+        tickCount++;
+        
+        FrameSnapshot snapshot = snapshots.back();
+        snapshot.copyFrom(this, tickCount);
+        snapshots.publish();
+        
+        if (tickTimer != null) {
+            tickTimer.recordSince(start);
+            heartGauge.set(hearts.size());
+        }
+    }
+    
+    // Satu langkah simulasi
+    private void step() {
         // Perbarui timer
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.currentTimeMillis();
         timeRemaining = Math.max(0, GAME_DURATION_MS - (currentTime - startTime));
         
         // Periksa jika waktunya habis
@@ -182,6 +266,14 @@ public class GameEngine {    // Konstanta permainan
             emotionState = 0; // Azzam Berjalan
         }
         
+        // Simpan posisi tick sebelumnya agar renderer dapat melakukan interpolasi
+        previousPlayerPosition.setLocation(playerPosition);
+        hearts.savePreviousPositions();
+        if (lasso != null) {
+            lasso.previousStartPosition.setLocation(lasso.startPosition);
+            lasso.previousPosition.setLocation(lasso.currentPosition);
+        }
+        
         // Atur ulang bendera hati yang mencapai perempuan
         heartReachedGirl = false;
         
@@ -192,26 +284,25 @@ public class GameEngine {    // Konstanta permainan
         }
         
         // Perbarui hati
+        // Iterasi mundur: swap-remove hanya memindahkan hati yang sudah diperbarui
         for (int i = hearts.size() - 1; i >= 0; i--) {
-            Heart heart = hearts.get(i);
-            heart.update();
+            updateHeart(i);
             
-            // Periksa jika hati mencapai perempuan
-            if (heart.isCaught()) {
-                double dx = girlPosition.x - heart.getPosition().x;
-                double dy = girlPosition.y - heart.getPosition().y;
-                double distance = Math.sqrt(dx * dx + dy * dy);
+            // Periksa jika hati mencapai perempuan (jarak kuadrat, tanpa sqrt)
+            if (hearts.state[i] != HeartPool.FREE) {
+                float dx = girlPosition.x - hearts.x[i];
+                float dy = girlPosition.y - hearts.y[i];
                 
-                if (distance <= 5) {
+                if (dx * dx + dy * dy <= 5 * 5) {
                     heartReachedGirl = true;
                 }
             }
             
             // Hapus hati yang keluar layar
-            if ((heart.getPosition().x < -50) || (heart.getPosition().x > SCREEN_WIDTH + 50)) {
+            if ((hearts.x[i] < -50) || (hearts.x[i] > SCREEN_WIDTH + 50)) {
                 hearts.remove(i);
                 // Hanya munculkan hati baru 50% dari waktu untuk mengurangi frekuensi hati
-                if (random.nextInt(100) < 50) {
+                if (random.nextInt(100) < balance.getRespawnPercent()) {
                     spawnHeart(); // Munculkan yang baru
                 }
             }
@@ -222,50 +313,146 @@ public class GameEngine {    // Konstanta permainan
             
             // Periksa jika laso menangkap hati (hanya jika belum menangkap satu)
             if (!lasso.hasHeartCaught()) {
-                for (Heart heart : hearts) {
-                    if (!heart.isCaught() && lasso.checkCollision(heart.getPosition(), 30)) {                        // Tandai hati ini sebagai tertangkap
-                        heart.setCaught(true);
-                        
-                        // Tetapkan referensi laso untuk hati
-                        heart.setLasso(lasso);
-                          // Hitung poin berdasarkan warna hati
-                        int points = heart.getPoints();
-                        score += points;
-                        
-                        // Hanya hitung jenis hati positif untuk hitungan heartsCollected 
-                        if (points > 0) {
-                            heartsCollected++;
-                        } else {
-                            // Untuk hati yang rusak, tampilkan pesan di konsol
-                            System.out.println("Menangkap hati yang rusak! -12 poin!");
-                        }
-                        
-                        // Buat laso mulai ditarik kembali segera
-                        lasso.catchHeart();
-                        
-                        // Hanya tangkap satu hati per lemparan
-                        break;
+                int caught = findCaughtHeart();
+                if (caught >= 0) {
+                    // Tandai hati ini sebagai tertangkap; hati mengikuti ujung laso yang aktif
+                    hearts.state[caught] = HeartPool.CAUGHT;
+                    
+                    // Hitung poin berdasarkan warna hati
+                    int points = hearts.points[caught];
+                    score += points;
+                    
+                    // Hanya hitung jenis hati positif untuk hitungan heartsCollected 
+                    if (points > 0) {
+                        heartsCollected++;
+                    } else {
+                        // Untuk hati yang rusak, tampilkan pesan di log debug
+                        brokenHeartsCaught++;
+                        Log.debug("Menangkap hati yang rusak! {} poin!", points);
                     }
+                    
+                    // Buat laso mulai ditarik kembali segera (hanya satu hati per lemparan)
+                    lasso.catchHeart();
                 }
             }
-              // Hapus laso jika selesai
+              // Hapus laso jika selesai; hati yang ditariknya kini sudah sampai di pemain
             if (lasso.isDone()) {
+                Point tip = lasso.getCurrentPosition();
+                for (int i = 0; i < hearts.size(); i++) {
+                    if (hearts.state[i] == HeartPool.CAUGHT) {
+                        hearts.x[i] = tip.x;
+                        hearts.y[i] = tip.y;
+                        hearts.state[i] = HeartPool.RETURNED;
+                    }
+                }
                 lasso = null;
             }
         }
         
         // Secara acak munculkan hati baru (frekuensi dikurangi)
-        if (random.nextInt(100) < 1 && hearts.size() < 7) {
+        if (random.nextInt(100) < balance.getSpawnPercent() && hearts.size() < maxHearts) {
             spawnHeart();
         }
+        
+        // Mode stress: isi layar sampai batas hati
+        if (stressMode) {
+            while (hearts.size() < maxHearts) {
+                spawnHeart();
+            }
+        }
+    }
+    
+    // Perbarui posisi satu hati sesuai statusnya
+    private void updateHeart(int i) {
+        int state = hearts.state[i];
+        if (state == HeartPool.FREE) {
+            // Normal movement
+            hearts.x[i] += hearts.speedX[i];
+        } else if (state == HeartPool.CAUGHT) {
+            if (lasso != null) {
+                // Make heart follow the lasso tip exactly - no lag
+                hearts.x[i] = lasso.getCurrentPosition().x;
+                hearts.y[i] = lasso.getCurrentPosition().y;
+            } else if (moveHeartTowards(i, playerPosition.x, playerPosition.y)) {
+                // If lasso is somehow null, move directly to player, then on to the girl
+                hearts.state[i] = HeartPool.RETURNED;
+            }
+        } else if (moveHeartTowards(i, girlPosition.x, girlPosition.y)) {
+            // Heart reached girl, remove it
+            hearts.x[i] = -100; // Will be removed in this update
+        }
+    }
+    
+    // Gerakkan hati 5 piksel menuju target; true jika hati sudah berada di target
+    private boolean moveHeartTowards(int i, int targetX, int targetY) {
+        float dx = targetX - hearts.x[i];
+        float dy = targetY - hearts.y[i];
+        float distanceSquared = dx * dx + dy * dy;
+        
+        if (distanceSquared > 5 * 5) {
+            float ratio = 5 / (float) Math.sqrt(distanceSquared);
+            hearts.x[i] += dx * ratio;
+            hearts.y[i] += dy * ratio;
+            return false;
+        }
+        return true;
+    }
+    
+    // Cari hati bebas yang tersentuh ujung laso: broad-phase lewat grid, narrow-phase dengan jarak kuadrat.
+    // Jika beberapa hati tersentuh, yang indeksnya paling kecil dipilih. Mengembalikan -1 jika tidak ada.
+    private int findCaughtHeart() {
+        int heartCount = hearts.size();
+        heartGrid.clear(heartCount);
+        for (int i = 0; i < heartCount; i++) {
+            heartGrid.insert(i, (int) hearts.x[i], (int) hearts.y[i]);
+        }
+        
+        if (collisionCandidates.length < heartCount) {
+            collisionCandidates = new int[Math.max(heartCount, collisionCandidates.length * 2)];
+        }
+        Point tip = lasso.getCurrentPosition();
+        int candidateCount = heartGrid.query(
+                tip.x - LASSO_CATCH_RADIUS, tip.y - LASSO_CATCH_RADIUS,
+                tip.x + LASSO_CATCH_RADIUS, tip.y + LASSO_CATCH_RADIUS,
+                collisionCandidates);
+        
+        int caughtIndex = -1;
+        for (int c = 0; c < candidateCount; c++) {
+            int index = collisionCandidates[c];
+            if (caughtIndex >= 0 && index > caughtIndex) continue;
+            if (hearts.state[index] == HeartPool.FREE
+                    && lasso.checkCollision(hearts.x[index], hearts.y[index], LASSO_CATCH_RADIUS)) {
+                caughtIndex = index;
+            }
+        }
+        return caughtIndex;
+    }
+    
+    // Atur batas jumlah hati di layar (untuk mode uji beban)
+    public void setMaxHearts(int maxHearts) {
+        this.maxHearts = Math.max(1, maxHearts);
+        hearts.ensureCapacity(this.maxHearts + 1);
+    }
+    
+    public int getMaxHearts() {
+        return maxHearts;
+    }
+    
+    // Mode stress: hati dimunculkan terus sampai batas maxHearts tercapai
+    public void setStressMode(boolean stressMode) {
+        this.stressMode = stressMode;
+    }
+    
+    public boolean isStressMode() {
+        return stressMode;
     }    // Munculkan hati baru
-    private void spawnHeart() {
+    void spawnHeart() {
         // Tentukan tipe hati - dengan sedikit kemungkinan untuk hati yang rusak
         int type;
-        if (random.nextInt(100) < 15) { // 15% kemungkinan hati rusak (tidak terlalu sering)
-            type = 6; // Hati yang rusak
+        if (random.nextInt(100) < balance.getBrokenHeartPercent()) {
+            type = GameBalance.BROKEN_HEART_TYPE; // Hati yang rusak
         } else {
-            type = random.nextInt(6); // Hati normal (0-5)
+            type = random.nextInt(GameBalance.BROKEN_HEART_TYPE); // Hati normal (0-5)
         }
           // Tentukan posisi kemunculan dan arah
         boolean fromTop = random.nextBoolean();
@@ -289,26 +476,18 @@ public class GameEngine {    // Konstanta permainan
             y = random.nextInt(middleAreaTop - 100) + middleAreaTop + middleAreaHeight; // Jaga hati tetap lebih rendah
             
             speedX = random.nextInt(HEART_SPEED_MAX - HEART_SPEED_MIN + 1) + HEART_SPEED_MIN;
-        }          // Buat hati dengan poin yang sesuai berdasarkan tipe
-        int points;
-        switch (type) {
-            case 0: points = 3; break; // Biru
-            case 1: points = 4; break; // Hijau
-            case 2: points = 5; break; // Kuning
-            case 3: points = 6; break; // Merah
-            case 4: points = 7; break; // Oranye
-            case 5: points = 2; break; // Ungu
-            case 6: points = -12; break; // Hati rusak - poin negatif
-            default: points = 2; break; // Default fallback
-        }
-        
-        System.out.println("Memunculkan hati pada posisi: (" + x + ", " + y + ")");
-        hearts.add(new Heart(new Point(x, y), speedX, type, points));
+        }          // Buat hati dengan poin yang sesuai berdasarkan tipe (lihat GameBalance)
+        hearts.add(x, y, speedX, type, balance.getPoints(type));
     }
       // Lempar laso ke titik target
     public void throwLasso(Point target) {
+        throwLasso(target.x, target.y);
+    }
+    
+    public void throwLasso(int targetX, int targetY) {
         if (isRunning && lasso == null) {
-            lasso = new Lasso(new Point(playerPosition.x, playerPosition.y), target);
+            // Objek laso dipakai ulang untuk setiap lemparan
+            lasso = reusableLasso.reset(playerPosition.x, playerPosition.y, targetX, targetY);
         }
     }
     
@@ -336,12 +515,12 @@ public class GameEngine {    // Konstanta permainan
     }
       // Metode setter untuk melanjutkan permainan dengan skor sebelumnya
     public void setScore(int score) {
-        System.out.println("Mengatur skor ke: " + score);
+        Log.info("Mengatur skor ke: {}", score);
         this.score = score;
     }
     
     public void setHeartsCollected(int heartsCollected) {
-        System.out.println("Mengatur hati yang dikumpulkan ke: " + heartsCollected);
+        Log.info("Mengatur hati yang dikumpulkan ke: {}", heartsCollected);
         this.heartsCollected = heartsCollected;
     }
     
@@ -354,11 +533,16 @@ public class GameEngine {    // Konstanta permainan
         return playerPosition;
     }
     
+    public Point getPreviousPlayerPosition() {
+        return previousPlayerPosition;
+    }
+    
     public Point getGirlPosition() {
         return girlPosition;
     }
     
-    public ArrayList<Heart> getHearts() {
+    // Tampilan hanya-baca atas hati yang aktif
+    public HeartView getHearts() {
         return hearts;
     }
     
@@ -366,6 +550,32 @@ public class GameEngine {    // Konstanta permainan
         return lasso;
     }
     
+    public boolean hasLasso() {
+        return lasso != null;
+    }
+    
+    public Point getLassoStart() {
+        return lasso != null ? lasso.startPosition : null;
+    }
+    
+    public Point getPreviousLassoStart() {
+        return lasso != null ? lasso.previousStartPosition : null;
+    }
+    
+    public Point getLassoEnd() {
+        return lasso != null ? lasso.currentPosition : null;
+    }
+    
+    public Point getPreviousLassoEnd() {
+        return lasso != null ? lasso.previousPosition : null;
+    }
+    
+    // Snapshot terbaru yang diterbitkan update(); hanya boleh dibaca oleh satu thread render.
+    // Snapshot yang sama dikembalikan sampai tick berikutnya selesai.
+    public FrameSnapshot getFrameSnapshot() {
+        return snapshots.front();
+    }
+    
     public int getScore() {
         return score;
     }
@@ -374,6 +584,10 @@ public class GameEngine {    // Konstanta permainan
         return heartsCollected;
     }
     
+    public int getBrokenHeartsCaught() {
+        return brokenHeartsCaught;
+    }
+    
     public long getTimeRemaining() {
         return timeRemaining;
     }
@@ -395,114 +609,156 @@ public class GameEngine {    // Konstanta permainan
     public boolean isGirlFacingRight() {
         return girlFacingRight;
     }
-      // Kelas dalam untuk objek Hati - diubah dari tingkat kelas ke visibilitas publik
-    public class Heart {
-        private Point position;
-        private int type; // 0=biru, 1=hijau, 2=oranye, 3=kuning, 4=ungu, 5=merah
-        private int speedX;
-        private int points;
-        private boolean isCaught;
-        private boolean returnedToPlayer; // Bendera untuk melacak jika hati telah mencapai pemain
-        private Lasso lasso; // Referensi ke laso yang menangkap hati ini
-        
-        public Heart(Point position, int speedX, int type, int points) {
-            this.position = position;
-            this.speedX = speedX;
-            this.type = type;
-            this.points = points;
-            this.isCaught = false;
-            this.returnedToPlayer = false;
-        }
-          public void update() {
-            if (!isCaught) {
-                // Normal movement
-                position.x += speedX;
-            } else if (!returnedToPlayer) {
-                // If lasso is active and heart is caught, attach heart to lasso tip
-                if (lasso != null) {
-                    // Make heart follow the lasso tip exactly - no lag
-                    position.x = lasso.getCurrentPosition().x;
-                    position.y = lasso.getCurrentPosition().y;
-                      // If lasso has returned to player position, set flag to move to girl
-                    if (lasso.isDone()) {
-                        returnedToPlayer = true;
-                    }
-                } else {
-                    // If lasso is somehow null, move directly to player
-                    double dx = playerPosition.x - position.x;
-                    double dy = playerPosition.y - position.y;
-                    double distance = Math.sqrt(dx * dx + dy * dy);
-                    
-                    if (distance > 5) {
-                        double ratio = 5 / distance;
-                        position.x += dx * ratio;
-                        position.y += dy * ratio;
-                    } else {
-                        // Heart reached player, now set flag to move to girl
-                        returnedToPlayer = true;
-                    }
-                }
-            } else {
-                // After reaching player, now move toward girl
-                double dx = girlPosition.x - position.x;
-                double dy = girlPosition.y - position.y;
-                double distance = Math.sqrt(dx * dx + dy * dy);
-                
-                if (distance > 5) {
-                    double ratio = 5 / distance;
-                    position.x += dx * ratio;
-                    position.y += dy * ratio;
-                } else {
-                    // Heart reached girl, remove it
-                    position.x = -100; // Will be removed in next update
-                }
-            }
-        }
-        
-        public Point getPosition() {
-            return position;
-        }
-        
-        public int getType() {
-            return type;
-        }
+    
+    // Future penyimpanan hasil terakhir; selesai (termasuk gagal) saat data sudah diproses database
+    public CompletableFuture<Void> getSaveFuture() {
+        return saveFuture != null ? saveFuture : CompletableFuture.completedFuture(null);
+    }
+    
+    // Jumlah tick yang sudah disimulasikan sejak engine dibuat
+    public long getTickCount() {
+        return tickCount;
+    }
+    
+    /**
+     * Salinan lengkap status simulasi pada satu tick, termasuk status generator
+     * acak, untuk melompat maju-mundur saat replay tanpa mensimulasikan ulang
+     * dari awal. Sumber waktu tidak ikut disalin; pemilik clock yang menyimpannya.
+     */
+    public static final class Keyframe {
+        private long tickCount;
+        private long randomState;
+        private boolean running;
+        private String username;
+        private int score;
+        private int heartsCollected;
+        private int brokenHeartsCaught;
+        private long startTime;
+        private long timeRemaining;
+        private boolean facingRight;
+        private boolean girlFacingRight;
+        private int emotionState;
+        private boolean heartReachedGirl;
+        private int maxHearts;
+        private boolean stressMode;
+        private final Point playerPosition = new Point();
+        private final Point previousPlayerPosition = new Point();
+        private final Point girlPosition = new Point();
+        private final HeartPool hearts = new HeartPool(8);
+        private boolean lassoActive;
+        private final Point lassoStart = new Point();
+        private final Point lassoTarget = new Point();
+        private final Point lassoCurrent = new Point();
+        private final Point lassoPreviousStart = new Point();
+        private final Point lassoPrevious = new Point();
+        private boolean lassoExtending;
+        private boolean lassoRetracting;
+        private boolean lassoHeartCaught;
         
-        public int getPoints() {
-            return points;
+        private Keyframe() {
         }
         
-        public boolean isCaught() {
-            return isCaught;
+        public long getTickCount() {
+            return tickCount;
         }
-          public void setCaught(boolean caught) {
-            isCaught = caught;
-            if (caught && lasso == null) {
-                // Store reference to the lasso that caught this heart
-                this.lasso = GameEngine.this.lasso;
-            }
-        }
-        
-        public void setLasso(Lasso lasso) {
-            this.lasso = lasso;
+    }
+    
+    public Keyframe saveKeyframe() {
+        Keyframe keyframe = new Keyframe();
+        keyframe.tickCount = tickCount;
+        keyframe.randomState = random.getState();
+        keyframe.running = isRunning;
+        keyframe.username = currentUsername;
+        keyframe.score = score;
+        keyframe.heartsCollected = heartsCollected;
+        keyframe.brokenHeartsCaught = brokenHeartsCaught;
+        keyframe.startTime = startTime;
+        keyframe.timeRemaining = timeRemaining;
+        keyframe.facingRight = facingRight;
+        keyframe.girlFacingRight = girlFacingRight;
+        keyframe.emotionState = emotionState;
+        keyframe.heartReachedGirl = heartReachedGirl;
+        keyframe.maxHearts = maxHearts;
+        keyframe.stressMode = stressMode;
+        keyframe.playerPosition.setLocation(playerPosition);
+        keyframe.previousPlayerPosition.setLocation(previousPlayerPosition);
+        keyframe.girlPosition.setLocation(girlPosition);
+        keyframe.hearts.copyStateFrom(hearts);
+        keyframe.lassoActive = lasso != null;
+        if (lasso != null) {
+            keyframe.lassoStart.setLocation(lasso.startPosition);
+            keyframe.lassoTarget.setLocation(lasso.targetPosition);
+            keyframe.lassoCurrent.setLocation(lasso.currentPosition);
+            keyframe.lassoPreviousStart.setLocation(lasso.previousStartPosition);
+            keyframe.lassoPrevious.setLocation(lasso.previousPosition);
+            keyframe.lassoExtending = lasso.extending;
+            keyframe.lassoRetracting = lasso.retracting;
+            keyframe.lassoHeartCaught = lasso.heartCaught;
         }
+        return keyframe;
     }
     
+    // Kembalikan status simulasi ke keyframe (dipanggil dari thread yang menjalankan engine)
+    public void restoreKeyframe(Keyframe keyframe) {
+        tickCount = keyframe.tickCount;
+        random.setState(keyframe.randomState);
+        isRunning = keyframe.running;
+        currentUsername = keyframe.username;
+        score = keyframe.score;
+        heartsCollected = keyframe.heartsCollected;
+        brokenHeartsCaught = keyframe.brokenHeartsCaught;
+        startTime = keyframe.startTime;
+        timeRemaining = keyframe.timeRemaining;
+        facingRight = keyframe.facingRight;
+        girlFacingRight = keyframe.girlFacingRight;
+        emotionState = keyframe.emotionState;
+        heartReachedGirl = keyframe.heartReachedGirl;
+        setMaxHearts(keyframe.maxHearts);
+        stressMode = keyframe.stressMode;
+        playerPosition.setLocation(keyframe.playerPosition);
+        previousPlayerPosition.setLocation(keyframe.previousPlayerPosition);
+        girlPosition.setLocation(keyframe.girlPosition);
+        hearts.copyStateFrom(keyframe.hearts);
+        if (keyframe.lassoActive) {
+            lasso = reusableLasso;
+            lasso.startPosition.setLocation(keyframe.lassoStart);
+            lasso.targetPosition.setLocation(keyframe.lassoTarget);
+            lasso.currentPosition.setLocation(keyframe.lassoCurrent);
+            lasso.previousStartPosition.setLocation(keyframe.lassoPreviousStart);
+            lasso.previousPosition.setLocation(keyframe.lassoPrevious);
+            lasso.extending = keyframe.lassoExtending;
+            lasso.retracting = keyframe.lassoRetracting;
+            lasso.heartCaught = keyframe.lassoHeartCaught;
+        } else {
+            lasso = null;
+        }
+    }
     // Inner class for Lasso object - changed from class-level to public visibility
     public class Lasso {
-        private Point startPosition;
-        private Point targetPosition;
-        private Point currentPosition;
+        private final Point startPosition = new Point();
+        private final Point targetPosition = new Point();
+        private final Point currentPosition = new Point();
+        private final Point previousStartPosition = new Point(); // Posisi tick sebelumnya untuk interpolasi
+        private final Point previousPosition = new Point();
         private boolean extending;
         private boolean retracting;
         private boolean heartCaught; // Flag to track if a heart has been caught
         
         public Lasso(Point startPosition, Point targetPosition) {
-            this.startPosition = new Point(startPosition);
-            this.targetPosition = new Point(targetPosition);
-            this.currentPosition = new Point(startPosition);
+            reset(startPosition.x, startPosition.y, targetPosition.x, targetPosition.y);
+        }
+        
+        // Mulai lemparan baru dari posisi awal ke target tanpa membuat objek baru
+        Lasso reset(int startX, int startY, int targetX, int targetY) {
+            startPosition.setLocation(startX, startY);
+            targetPosition.setLocation(targetX, targetY);
+            currentPosition.setLocation(startX, startY);
+            previousStartPosition.setLocation(startX, startY);
+            previousPosition.setLocation(startX, startY);
             this.extending = true;
             this.retracting = false;
             this.heartCaught = false;
+            return this;
         }
         
         public void update() {
@@ -549,10 +805,14 @@ public class GameEngine {    // Konstanta permainan
         }
         
         public boolean checkCollision(Point point, int radius) {
-            double dx = point.x - currentPosition.x;
-            double dy = point.y - currentPosition.y;
-            double distance = Math.sqrt(dx * dx + dy * dy);
-            return distance < radius;
+            return checkCollision(point.x, point.y, radius);
+        }
+        
+        public boolean checkCollision(float x, float y, int radius) {
+            // Bandingkan jarak kuadrat agar tidak perlu sqrt
+            float dx = x - currentPosition.x;
+            float dy = y - currentPosition.y;
+            return dx * dx + dy * dy < radius * radius;
         }
         
         public boolean isDone() {
@@ -567,6 +827,14 @@ public class GameEngine {    // Konstanta permainan
             return currentPosition;
         }
         
+        public Point getPreviousStartPosition() {
+            return previousStartPosition;
+        }
+        
+        public Point getPreviousPosition() {
+            return previousPosition;
+        }
+        
         public void catchHeart() {
             // Mark heart as caught and start retracting immediately
             this.heartCaught = true;
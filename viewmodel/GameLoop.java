@@ -0,0 +1,142 @@
+package viewmodel;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Loop permainan dengan timestep tetap yang berjalan di thread tersendiri.
+ * Simulasi dimajukan memakai akumulator sehingga kecepatan permainan tidak
+ * bergantung pada beban EDT, sedangkan rendering dijadwalkan terpisah
+ * dengan nilai interpolasi di antara dua tick.
+ *
+ * Setelah jeda panjang (misalnya GC atau jendela diseret) waktu yang dikejar
+ * dibatasi MAX_FRAME_TIME_NS, jadi tick untuk sisa jeda itu dibuang dan tidak
+ * dijalankan belakangan. Timer 60 detik GameEngine membaca jam dinding
+ * (GameClock), bukan jumlah tick, sehingga ronde yang sering tersendat tetap
+ * berakhir tepat waktu tetapi berisi lebih sedikit tick simulasi.
+ *
+ * Setiap start() membuat thread baru dan lebih dulu menunggu thread lama
+ * keluar dari tick()/render() yang sedang berjalan, sehingga stop() lalu
+ * start() yang cepat tidak menjalankan dua loop sekaligus. Pengecualiannya
+ * jika start() dipanggil dari dalam callback thread lama itu sendiri (atau
+ * pemanggilnya di-interrupt saat menunggu): thread lama lalu berhenti begitu
+ * callback yang sedang berjalan selesai.
+ */
+public class GameLoop implements Runnable {
+    // Batas waktu yang boleh dikejar dalam satu putaran agar tidak terjadi "spiral of death"
+    private static final long MAX_FRAME_TIME_NS = 250_000_000L;
+    // Sisa waktu tunggu yang dihabiskan dengan yield agar jadwal lebih presisi
+    private static final long SPIN_THRESHOLD_NS = 1_000_000L;
+
+    /**
+     * Callback yang dipanggil oleh loop. Keduanya dipanggil dari thread loop.
+     */
+    public interface Listener {
+        // Satu langkah simulasi dengan durasi tetap
+        void tick();
+
+        // Gambar frame; alpha adalah posisi antara tick sebelumnya (0) dan tick terakhir (1)
+        void render(double alpha);
+    }
+
+    private final long tickNanos;
+    private final long frameNanos;
+    private final Listener listener;
+    private volatile boolean running;
+    private volatile Thread thread; // Thread loop terakhir; thread lain yang masih berjalan harus berhenti
+
+    public GameLoop(int ticksPerSecond, int framesPerSecond, Listener listener) {
+        if (ticksPerSecond <= 0 || framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick dan frame rate harus positif");
+        }
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.frameNanos = 1_000_000_000L / framesPerSecond;
+        this.listener = listener;
+    }
+
+    // Mulai thread loop (tidak melakukan apa-apa jika sudah berjalan)
+    public void start() {
+        Thread previous;
+        synchronized (this) {
+            if (running) return;
+            previous = thread;
+        }
+        // Tunggu di luar kunci: thread lama mungkin sedang memanggil stop() dari dalam tick()
+        if (previous != null && previous != Thread.currentThread()) {
+            try {
+                previous.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (running) return;
+            running = true;
+            thread = new Thread(this, "GameLoop");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    // Hentikan loop; aman dipanggil dari thread mana pun termasuk dari dalam tick()
+    public synchronized void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    // Apakah thread ini masih thread loop yang aktif
+    private boolean isActive(Thread self) {
+        return running && thread == self;
+    }
+
+    @Override
+    public void run() {
+        Thread self = Thread.currentThread();
+        long previous = System.nanoTime();
+        long nextFrame = previous;
+        long accumulator = 0;
+
+        while (isActive(self)) {
+            long now = System.nanoTime();
+            accumulator += Math.min(now - previous, MAX_FRAME_TIME_NS);
+            previous = now;
+
+            // Majukan simulasi sebanyak tick yang sudah jatuh tempo
+            while (accumulator >= tickNanos && isActive(self)) {
+                listener.tick();
+                accumulator -= tickNanos;
+            }
+            if (!isActive(self)) break;
+
+            // Render sesuai jadwal frame, terlepas dari jumlah tick
+            if (now >= nextFrame) {
+                listener.render((double) accumulator / tickNanos);
+                nextFrame += frameNanos;
+                if (nextFrame <= now) {
+                    // Tertinggal terlalu jauh, lompati frame yang terlewat
+                    nextFrame = now + frameNanos;
+                }
+            }
+
+            // Tunggu sampai tick atau frame berikutnya
+            long wakeAt = Math.min(now + (tickNanos - accumulator), nextFrame);
+            long remaining;
+            while ((remaining = wakeAt - System.nanoTime()) > 0 && isActive(self)) {
+                if (remaining > SPIN_THRESHOLD_NS) {
+                    LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NS);
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package viewmodel;
+
+import java.util.Random;
+
+/**
+ * Random dengan algoritme yang sama persis dengan java.util.Random (LCG 48-bit),
+ * sehingga seed yang sama menghasilkan urutan angka yang sama, tetapi statusnya
+ * dapat dibaca dan dipulihkan untuk keyframe replay. Tidak memakai AtomicLong
+ * karena engine hanya dipakai satu thread.
+ */
+final class GameRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Tanpa initializer: konstruktor Random memanggil setSeed() sebelum field subclass diisi
+    private long state;
+
+    GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state;
+    }
+}
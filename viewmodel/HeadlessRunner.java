@@ -0,0 +1,181 @@
+package viewmodel;
+
+import java.util.Random;
+
+/**
+ * Menjalankan GameEngine tanpa layar, database, maupun audio secepat mungkin.
+ * Waktu permainan diambil dari TickClock sehingga satu permainan 60 detik
+ * selesai dalam hitungan milidetik. Input berasal dari kebijakan acak atau
+ * skrip sederhana yang membidik hati terdekat. Di akhir dicetak throughput
+ * (tick per detik) dan ringkasan skor.
+ *
+ * Contoh: java -cp . viewmodel.HeadlessRunner --games 200 --policy scripted --seed 42
+ */
+public class HeadlessRunner {
+    private static final int TICKS_PER_SECOND = 60; // Sama dengan GamePanel
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // Langkah SplitMix64 (SplittableRandom)
+
+    // Sumber input untuk satu tick simulasi
+    interface InputPolicy {
+        void apply(GameEngine engine, long tick);
+    }
+
+    public static void main(String[] args) {
+        int games = 100;
+        long seed = 1;
+        String policyName = "scripted";
+        int maxHearts = -1;
+        boolean stress = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--policy":
+                    policyName = args[++i];
+                    break;
+                case "--max-hearts":
+                    maxHearts = Integer.parseInt(args[++i]);
+                    break;
+                case "--stress":
+                    stress = true;
+                    break;
+                default:
+                    System.out.println("Argumen tidak dikenal: " + args[i]);
+                    System.out.println("Pemakaian: HeadlessRunner [--games N] [--seed S] [--policy scripted|random]"
+                            + " [--max-hearts N] [--stress]");
+                    System.exit(2);
+            }
+        }
+
+        long totalTicks = 0;
+        long totalScore = 0;
+        long totalHearts = 0;
+        int minScore = Integer.MAX_VALUE;
+        int maxScore = Integer.MIN_VALUE;
+
+        long startNanos = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            GameClock clock = new TickClock(TICKS_PER_SECOND);
+            GameEngine engine = GameEngine.headless(clock, engineSeed(seed, game));
+            if (maxHearts > 0) {
+                engine.setMaxHearts(maxHearts);
+            }
+            engine.setStressMode(stress);
+            InputPolicy policy = createPolicy(policyName, policySeed(seed, game));
+
+            totalTicks += runGame(engine, (TickClock) clock, policy);
+            int score = engine.getScore();
+            totalScore += score;
+            totalHearts += engine.getHeartsCollected();
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.println("Permainan       : " + games + " (kebijakan " + policyName + ", seed " + seed + ")");
+        System.out.println("Tick total      : " + totalTicks);
+        System.out.printf("Waktu           : %.3f s%n", seconds);
+        System.out.printf("Throughput      : %.0f tick/s (%.1fx waktu nyata)%n",
+                totalTicks / seconds, totalTicks / seconds / TICKS_PER_SECOND);
+        if (games > 0) {
+            System.out.printf("Skor rata-rata  : %.2f (min %d, maks %d)%n", (double) totalScore / games, minScore, maxScore);
+            System.out.printf("Hati rata-rata  : %.2f%n", (double) totalHearts / games);
+        }
+    }
+
+    // Jalankan satu permainan sampai waktunya habis; mengembalikan jumlah tick
+    static long runGame(GameEngine engine, TickClock clock, InputPolicy policy) {
+        engine.startGame("headless");
+        long tick = 0;
+        while (engine.isRunning()) {
+            policy.apply(engine, tick);
+            engine.update();
+            clock.advance();
+            tick++;
+        }
+        return tick;
+    }
+
+    // Seed engine dan kebijakan untuk permainan ke-i, hanya bergantung pada (seed, i) sehingga
+    // hasil tidak bergantung pada urutan atau jumlah thread. Seed berurutan pada LCG Random saling
+    // berkorelasi, jadi keduanya diacak dengan SplitMix64, dan engine memakai aliran yang berbeda
+    // dari kebijakan input
+    static long engineSeed(long seed, int game) {
+        return mix64(seed + (2L * game + 1) * GOLDEN_GAMMA);
+    }
+
+    static long policySeed(long seed, int game) {
+        return mix64(seed + (2L * game + 2) * GOLDEN_GAMMA);
+    }
+
+    // Fungsi akhir SplitMix64 (sama dengan SplittableRandom.mix64)
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static InputPolicy createPolicy(String name, long seed) {
+        switch (name) {
+            case "random":
+                return randomPolicy(seed);
+            case "scripted":
+                return HeadlessRunner::scriptedInput;
+            default:
+                throw new IllegalArgumentException("Kebijakan tidak dikenal: " + name);
+        }
+    }
+
+    // Gerakan acak yang ditahan setengah detik dan lemparan laso ke titik acak
+    private static InputPolicy randomPolicy(long seed) {
+        Random random = new Random(seed);
+        int[] direction = new int[2];
+        return (engine, tick) -> {
+            if (tick % (TICKS_PER_SECOND / 2) == 0) {
+                direction[0] = random.nextInt(3) - 1;
+                direction[1] = random.nextInt(3) - 1;
+            }
+            if (direction[0] != 0 || direction[1] != 0) {
+                engine.movePlayer(direction[0], direction[1]);
+            }
+            if (random.nextInt(20) == 0) {
+                engine.throwLasso(random.nextInt(GameEngine.SCREEN_WIDTH), random.nextInt(GameEngine.SCREEN_HEIGHT));
+            }
+        };
+    }
+
+    // Ikuti ketinggian hati bagus terdekat dan lempar laso ke arahnya jika laso sedang bebas
+    private static void scriptedInput(GameEngine engine, long tick) {
+        HeartView hearts = engine.getHearts();
+        int playerX = engine.getPlayerPosition().x;
+        int playerY = engine.getPlayerPosition().y;
+
+        int target = -1;
+        float bestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < hearts.size(); i++) {
+            if (hearts.isCaught(i) || hearts.getType(i) == GameBalance.BROKEN_HEART_TYPE) continue;
+            float dx = hearts.getX(i) - playerX;
+            float dy = hearts.getY(i) - playerY;
+            float distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                target = i;
+            }
+        }
+        if (target < 0) return;
+
+        int targetY = (int) hearts.getY(target);
+        if (Math.abs(targetY - playerY) > 5) {
+            engine.movePlayer(0, targetY > playerY ? 1 : -1);
+        }
+        if (!engine.hasLasso()) {
+            engine.throwLasso((int) hearts.getX(target), targetY);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package viewmodel;
+
+import java.util.Arrays;
+
+/**
+ * Grid seragam untuk broad-phase tabrakan laso dengan hati.
+ * Setiap tick semua hati dimasukkan ke sel berdasarkan posisinya (linked list
+ * di dalam array int, tanpa alokasi), lalu query hanya memeriksa sel yang
+ * bersinggungan dengan area pencarian. Posisi di luar area grid dijepit ke
+ * sel tepi sehingga tidak ada hati yang hilang dari query.
+ */
+class HeartGrid {
+    private final int cellSize;
+    private final int originX;
+    private final int originY;
+    private final int columns;
+    private final int rows;
+    private final int[] cellHead; // Indeks hati pertama di setiap sel, -1 jika kosong
+    private int[] next = new int[64]; // Indeks hati berikutnya di sel yang sama
+
+    HeartGrid(int minX, int minY, int maxX, int maxY, int cellSize) {
+        this.cellSize = cellSize;
+        this.originX = minX;
+        this.originY = minY;
+        this.columns = Math.max(1, (maxX - minX + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (maxY - minY + cellSize - 1) / cellSize);
+        this.cellHead = new int[columns * rows];
+        Arrays.fill(cellHead, -1);
+    }
+
+    // Kosongkan grid dan siapkan kapasitas untuk sejumlah hati
+    void clear(int capacity) {
+        Arrays.fill(cellHead, -1);
+        if (next.length < capacity) {
+            next = new int[Math.max(capacity, next.length * 2)];
+        }
+    }
+
+    // Masukkan hati dengan indeks tertentu pada posisinya
+    void insert(int index, int x, int y) {
+        int cell = row(y) * columns + column(x);
+        next[index] = cellHead[cell];
+        cellHead[cell] = index;
+    }
+
+    // Kumpulkan indeks hati di sel yang bersinggungan dengan kotak pencarian; mengembalikan jumlahnya
+    int query(int minX, int minY, int maxX, int maxY, int[] out) {
+        int count = 0;
+        int firstColumn = column(minX);
+        int lastColumn = column(maxX);
+        int firstRow = row(minY);
+        int lastRow = row(maxY);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                for (int i = cellHead[r * columns + c]; i >= 0 && count < out.length; i = next[i]) {
+                    out[count++] = i;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int column(int x) {
+        int column = Math.floorDiv(x - originX, cellSize);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    private int row(int y) {
+        int row = Math.floorDiv(y - originY, cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
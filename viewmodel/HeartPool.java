@@ -0,0 +1,164 @@
+package viewmodel;
+
+import java.util.Arrays;
+
+/**
+ * Penyimpanan hati dalam bentuk struct-of-arrays: setiap atribut hati berada
+ * di array primitif sendiri. Hati baru mengisi slot di akhir dan hati yang
+ * hilang dihapus dengan swap-remove, sehingga memunculkan dan menghapus hati
+ * tidak mengalokasikan objek (array hanya tumbuh jika kapasitas terlampaui).
+ */
+class HeartPool implements HeartView {
+    // Status hati
+    static final int FREE = 0;      // Bergerak bebas melintasi layar
+    static final int CAUGHT = 1;    // Menempel di ujung laso
+    static final int RETURNED = 2;  // Sudah sampai ke pemain, menuju perempuan
+
+    float[] x;
+    float[] y;
+    float[] previousX;
+    float[] previousY;
+    int[] speedX;
+    int[] type;
+    int[] points;
+    int[] state;
+    private int size;
+
+    HeartPool(int initialCapacity) {
+        int capacity = Math.max(8, initialCapacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        speedX = new int[capacity];
+        type = new int[capacity];
+        points = new int[capacity];
+        state = new int[capacity];
+    }
+
+    // Tambahkan hati baru; mengembalikan indeksnya
+    int add(float heartX, float heartY, int heartSpeedX, int heartType, int heartPoints) {
+        if (size == x.length) {
+            grow();
+        }
+        int index = size++;
+        x[index] = heartX;
+        y[index] = heartY;
+        previousX[index] = heartX;
+        previousY[index] = heartY;
+        speedX[index] = heartSpeedX;
+        type[index] = heartType;
+        points[index] = heartPoints;
+        state[index] = FREE;
+        return index;
+    }
+
+    // Hapus hati dengan memindahkan hati terakhir ke slot yang kosong (O(1), urutan berubah)
+    void remove(int index) {
+        int last = --size;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            previousX[index] = previousX[last];
+            previousY[index] = previousY[last];
+            speedX[index] = speedX[last];
+            type[index] = type[last];
+            points[index] = points[last];
+            state[index] = state[last];
+        }
+    }
+
+    // Simpan posisi saat ini sebagai posisi tick sebelumnya
+    void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    // Salin posisi, tipe dan status tangkap dari hati lain (dipakai untuk snapshot render)
+    void copyFrom(HeartView source) {
+        int count = source.size();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            x[i] = source.getX(i);
+            y[i] = source.getY(i);
+            previousX[i] = source.getPreviousX(i);
+            previousY[i] = source.getPreviousY(i);
+            type[i] = source.getType(i);
+            state[i] = source.isCaught(i) ? CAUGHT : FREE;
+        }
+        size = count;
+    }
+
+    // Salin seluruh status hati lain apa adanya, termasuk kecepatan dan poin (dipakai untuk keyframe)
+    void copyStateFrom(HeartPool source) {
+        int count = source.size;
+        ensureCapacity(count);
+        System.arraycopy(source.x, 0, x, 0, count);
+        System.arraycopy(source.y, 0, y, 0, count);
+        System.arraycopy(source.previousX, 0, previousX, 0, count);
+        System.arraycopy(source.previousY, 0, previousY, 0, count);
+        System.arraycopy(source.speedX, 0, speedX, 0, count);
+        System.arraycopy(source.type, 0, type, 0, count);
+        System.arraycopy(source.points, 0, points, 0, count);
+        System.arraycopy(source.state, 0, state, 0, count);
+        size = count;
+    }
+    
+    // Pastikan kapasitas cukup agar tidak ada alokasi saat permainan berjalan
+    void ensureCapacity(int capacity) {
+        while (x.length < capacity) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        speedX = Arrays.copyOf(speedX, capacity);
+        type = Arrays.copyOf(type, capacity);
+        points = Arrays.copyOf(points, capacity);
+        state = Arrays.copyOf(state, capacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public float getX(int index) {
+        return x[index];
+    }
+
+    @Override
+    public float getY(int index) {
+        return y[index];
+    }
+
+    @Override
+    public float getPreviousX(int index) {
+        return previousX[index];
+    }
+
+    @Override
+    public float getPreviousY(int index) {
+        return previousY[index];
+    }
+
+    @Override
+    public int getType(int index) {
+        return type[index];
+    }
+
+    @Override
+    public boolean isCaught(int index) {
+        return state[index] != FREE;
+    }
+}
@@ -0,0 +1,23 @@
+package viewmodel;
+
+/**
+ * Tampilan hanya-baca atas hati yang sedang aktif, diindeks 0 sampai size() - 1.
+ * Indeks tidak stabil antar tick karena hati yang hilang dihapus dengan swap-remove.
+ */
+public interface HeartView {
+    int size();
+
+    float getX(int index);
+
+    float getY(int index);
+
+    // Posisi pada tick sebelumnya, untuk interpolasi render
+    float getPreviousX(int index);
+
+    float getPreviousY(int index);
+
+    // 0=biru, 1=hijau, 2=kuning, 3=merah, 4=oranye, 5=ungu, 6=rusak
+    int getType(int index);
+
+    boolean isCaught(int index);
+}
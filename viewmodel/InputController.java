@@ -5,13 +5,27 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class InputController implements KeyListener, MouseListener {
     private GameEngine gameEngine;
-    private boolean upPressed, downPressed, leftPressed, rightPressed;
+    // Ditulis dari EDT dan dibaca dari thread loop permainan
+    private volatile boolean upPressed, downPressed, leftPressed, rightPressed;
+    // Overlay kinerja (F3); dibaca oleh thread yang menggambar frame
+    private volatile boolean overlayVisible = false;
+    // Perintah dari EDT yang dijalankan di thread loop pada tick berikutnya
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    // Perekam input untuk replay (null jika tidak merekam); hanya dipakai thread loop
+    private final InputRecorder recorder;
     
     public InputController(GameEngine gameEngine) {
+        this(gameEngine, null);
+    }
+    
+    public InputController(GameEngine gameEngine, InputRecorder recorder) {
         this.gameEngine = gameEngine;
+        this.recorder = recorder;
         resetKeys();
     }
     
@@ -21,8 +35,47 @@ public class InputController implements KeyListener, MouseListener {
         leftPressed = false;
         rightPressed = false;
     }
-      // Proses input keyboard saat ini
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+    
+    // Antrekan perintah untuk engine; aman dipanggil dari thread mana pun
+    public void submit(Runnable command) {
+        commands.add(command);
+    }
+    
+    // Mulai permainan pada tick berikutnya
+    public void startGame(String username) {
+        submit(() -> {
+            if (recorder != null) {
+                recorder.start(gameEngine, username);
+            }
+            gameEngine.startGame(username);
+        });
+    }
+    
+    // Perintah input yang direkam; dijalankan di thread loop
+    private void throwLasso(int x, int y) {
+        if (recorder != null) {
+            recorder.lasso(x, y);
+        }
+        gameEngine.throwLasso(x, y);
+    }
+    
+    private void endGame() {
+        if (recorder != null) {
+            recorder.end();
+        }
+        gameEngine.endGame();
+    }
+    
+    // Jalankan perintah yang tertunda lalu proses input keyboard saat ini (dipanggil dari thread loop)
     public void processInput() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+        
         if (gameEngine.isRunning()) {
             int dx = 0, dy = 0;
             
@@ -31,11 +84,18 @@ public class InputController implements KeyListener, MouseListener {
             if (leftPressed) dx -= 1;
             if (rightPressed) dx += 1;
             
+            if (recorder != null) {
+                recorder.direction(dx, dy);
+            }
+            
             // Hanya bergerak jika ada input yang sebenarnya
             if (dx != 0 || dy != 0) {
                 gameEngine.movePlayer(dx, dy);
             }
         }
+        if (recorder != null) {
+            recorder.endTick();
+        }
     }
       @Override
     public void keyTyped(KeyEvent e) {
@@ -56,15 +116,15 @@ public class InputController implements KeyListener, MouseListener {
                 rightPressed = true;
                 break;
             case KeyEvent.VK_SPACE:                // Akhiri permainan dan kembali ke menu (ini ditangani di GamePanel)
-                if (gameEngine.isRunning()) {
-                    gameEngine.endGame();
-                }
+                submit(this::endGame);
                 break;
             case KeyEvent.VK_ESCAPE:
                 // Cara alternatif untuk mengakhiri permainan
-                if (gameEngine.isRunning()) {
-                    gameEngine.endGame();
-                }
+                submit(this::endGame);
+                break;
+            case KeyEvent.VK_F3:
+                // Tampilkan atau sembunyikan overlay kinerja
+                overlayVisible = !overlayVisible;
                 break;
         }
     }
@@ -92,10 +152,10 @@ public class InputController implements KeyListener, MouseListener {
 
     @Override
     public void mousePressed(MouseEvent e) {
-        // Lempar laso saat diklik
-        if (gameEngine.isRunning()) {
-            gameEngine.throwLasso(new Point(e.getX(), e.getY()));
-        }
+        // Lempar laso saat diklik (diterapkan oleh thread loop)
+        int x = e.getX();
+        int y = e.getY();
+        submit(() -> throwLasso(x, y));
     }
 
     @Override
@@ -0,0 +1,165 @@
+package viewmodel;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Merekam satu permainan agar dapat diputar ulang persis sama dengan InputReplay.
+ *
+ * Yang direkam hanya hal yang tidak dapat dihitung ulang: seed generator acak
+ * dan konfigurasi engine saat permainan dimulai, input per tick (arah gerak,
+ * titik lemparan laso, perintah mulai/akhiri) dan setiap pembacaan jam oleh
+ * engine. Recorder dipasang sebagai GameClock engine, jadi waktu dinding tetap
+ * dipakai saat bermain, tetapi nilainya tersimpan untuk replay.
+ *
+ * Format file (.azr): header DataOutput (magic, versi, seed, konfigurasi,
+ * nama pemain), lalu dua bagian varint. Bagian input berisi event dengan
+ * kepala (selisih tick &lt;&lt; 3 | jenis); arah gerak hanya ditulis saat berubah,
+ * sehingga menahan tombol panah tidak menambah ukuran. Bagian waktu berisi
+ * waktu absolut pertama lalu selisih tiap pembacaan berikutnya (biasanya satu
+ * byte per tick). Penutup berisi jumlah tick, skor, dan hati akhir untuk
+ * memeriksa bahwa replay menghasilkan permainan yang sama.
+ *
+ * Semua method dipanggil dari thread loop permainan.
+ */
+public final class InputRecorder implements GameClock {
+    static final int MAGIC = 0x415A5250; // "AZRP"
+    static final int VERSION = 1;
+
+    // Jenis event input
+    static final int EVENT_START = 0;
+    static final int EVENT_DIRECTION = 1;
+    static final int EVENT_LASSO = 2;
+    static final int EVENT_END = 3;
+    static final int EVENT_TYPE_BITS = 3;
+
+    // Arah gerak dikodekan sebagai (dx + 1) * 3 + (dy + 1); 4 berarti diam
+    static final int NO_DIRECTION = 4;
+
+    private final GameClock source;
+    private final VarintBuffer inputs = new VarintBuffer(1024);
+    private final VarintBuffer times = new VarintBuffer(8192);
+    private long tick = 0;
+    private long lastEventTick = 0;
+    private int direction = NO_DIRECTION;
+    private long lastTime;
+    private boolean timeRecorded = false;
+
+    // Konfigurasi engine saat permainan dimulai
+    private GameEngine engine;
+    private String username;
+    private long seed;
+    private int maxHearts;
+    private boolean stressMode;
+    private int initialScore;
+    private int initialHearts;
+
+    public InputRecorder(GameClock source) {
+        this.source = source;
+    }
+
+    // Direktori rekaman dari -Dazzam.record=...; null jika perekaman tidak diminta
+    public static File getRecordingDirectory() {
+        String path = System.getProperty("azzam.record");
+        return path == null || path.trim().isEmpty() ? null : new File(path.trim());
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        long now = source.currentTimeMillis();
+        if (timeRecorded) {
+            times.writeSigned(now - lastTime);
+        } else {
+            times.writeSigned(now);
+            timeRecorded = true;
+        }
+        lastTime = now;
+        return now;
+    }
+
+    // Catat konfigurasi engine; dipanggil tepat sebelum engine.startGame(username)
+    void start(GameEngine engine, String username) {
+        if (this.engine == null) {
+            this.engine = engine;
+            this.username = username;
+            seed = engine.getSeed();
+            maxHearts = engine.getMaxHearts();
+            stressMode = engine.isStressMode();
+            initialScore = engine.getScore();
+            initialHearts = engine.getHeartsCollected();
+        }
+        writeEvent(EVENT_START);
+    }
+
+    void lasso(int x, int y) {
+        writeEvent(EVENT_LASSO);
+        inputs.writeSigned(x);
+        inputs.writeSigned(y);
+    }
+
+    void end() {
+        writeEvent(EVENT_END);
+    }
+
+    // Arah gerak tick ini; hanya ditulis jika berbeda dari tick sebelumnya
+    void direction(int dx, int dy) {
+        int code = (dx + 1) * 3 + (dy + 1);
+        if (code != direction) {
+            direction = code;
+            writeEvent(EVENT_DIRECTION);
+            inputs.writeByte(code);
+        }
+    }
+
+    // Akhir input untuk tick ini (dipanggil sekali per tick, setelah semua input diterapkan)
+    void endTick() {
+        tick++;
+    }
+
+    private void writeEvent(int type) {
+        inputs.writeVarint((tick - lastEventTick) << EVENT_TYPE_BITS | type);
+        lastEventTick = tick;
+    }
+
+    public long getTickCount() {
+        return tick;
+    }
+
+    // Simpan rekaman ke direktori dengan nama berdasarkan waktu; mengembalikan file yang ditulis
+    public File saveTo(File directory) throws IOException {
+        if (engine == null) {
+            throw new IOException("Permainan belum dimulai, tidak ada yang direkam");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Direktori rekaman tidak dapat dibuat: " + directory);
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(directory, "replay-" + stamp + ".azr");
+        save(file);
+        return file;
+    }
+
+    public void save(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            output.writeLong(seed);
+            output.writeInt(maxHearts);
+            output.writeBoolean(stressMode);
+            output.writeInt(initialScore);
+            output.writeInt(initialHearts);
+            output.writeUTF(username);
+            inputs.writeTo(output);
+            times.writeTo(output);
+            output.writeLong(tick);
+            output.writeInt(engine.getScore());
+            output.writeInt(engine.getHeartsCollected());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package viewmodel;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Memutar ulang rekaman InputRecorder pada engine headless secepat mungkin.
+ * Setiap tick dijalankan dengan urutan yang sama seperti GamePanel.tick():
+ * input tick tersebut diterapkan, lalu engine diperbarui. Engine membaca jam
+ * dari bagian waktu rekaman, sehingga hasilnya sama persis dengan permainan
+ * aslinya.
+ *
+ * Setiap KEYFRAME_INTERVAL tick status engine dan posisi baca rekaman
+ * disimpan, sehingga seek() ke tick mana pun (maju atau mundur) cukup
+ * memulihkan keyframe terdekat lalu mensimulasikan paling banyak satu interval.
+ *
+ * Contoh: java -cp . viewmodel.InputReplay rekaman/replay-20250101-120000.azr --seek 1800
+ */
+public final class InputReplay {
+    private static final int KEYFRAME_INTERVAL = 300; // 5 detik pada 60 tick per detik
+
+    // Posisi replay pada awal satu tick, disimpan bersama status engine
+    private static final class Keyframe {
+        final long tick;
+        final GameEngine.Keyframe engine;
+        final int inputPosition;
+        final long nextEventTick;
+        final int nextEventType;
+        final int direction;
+        final int timePosition;
+        final long lastTime;
+        final boolean timeRead;
+        final boolean started;
+
+        Keyframe(InputReplay replay) {
+            tick = replay.tick;
+            engine = replay.engine.saveKeyframe();
+            inputPosition = replay.inputs.getPosition();
+            nextEventTick = replay.nextEventTick;
+            nextEventType = replay.nextEventType;
+            direction = replay.direction;
+            timePosition = replay.times.getPosition();
+            lastTime = replay.lastTime;
+            timeRead = replay.timeRead;
+            started = replay.started;
+        }
+    }
+
+    private final String username;
+    private final long recordedTicks;
+    private final int recordedScore;
+    private final int recordedHearts;
+    private final VarintBuffer inputs;
+    private final VarintBuffer times;
+    private final GameEngine engine;
+    private final ArrayList<Keyframe> keyframes = new ArrayList<>();
+
+    private long tick = 0;
+    private long nextEventTick;
+    private int nextEventType;
+    private int direction = InputRecorder.NO_DIRECTION;
+    private long lastTime;
+    private boolean timeRead = false;
+    private boolean started = false;
+    private boolean finished = false;
+
+    private InputReplay(DataInputStream input) throws IOException {
+        if (input.readInt() != InputRecorder.MAGIC) {
+            throw new IOException("Bukan file rekaman Azzam Love");
+        }
+        int version = input.readUnsignedByte();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Versi rekaman tidak didukung: " + version);
+        }
+        long seed = input.readLong();
+        int maxHearts = input.readInt();
+        boolean stressMode = input.readBoolean();
+        int initialScore = input.readInt();
+        int initialHearts = input.readInt();
+        username = input.readUTF();
+        inputs = VarintBuffer.readFrom(input);
+        times = VarintBuffer.readFrom(input);
+        recordedTicks = input.readLong();
+        recordedScore = input.readInt();
+        recordedHearts = input.readInt();
+
+        engine = GameEngine.headless(this::readTime, seed);
+        engine.setMaxHearts(maxHearts);
+        engine.setStressMode(stressMode);
+        // Skor lanjutan pemain lama diatur sebelum permainan dimulai, sama seperti MainMenuView
+        if (initialScore != 0 || initialHearts != 0) {
+            engine.setScore(initialScore);
+            engine.setHeartsCollected(initialHearts);
+        }
+        readNextEvent();
+    }
+
+    public static InputReplay load(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return new InputReplay(input);
+        }
+    }
+
+    // Jam engine: pembacaan berikutnya dari bagian waktu rekaman
+    private long readTime() {
+        long value = times.readSigned();
+        lastTime = timeRead ? lastTime + value : value;
+        timeRead = true;
+        return lastTime;
+    }
+
+    private void readNextEvent() {
+        if (!inputs.hasRemaining()) {
+            nextEventTick = Long.MAX_VALUE;
+            return;
+        }
+        long header = inputs.readVarint();
+        nextEventTick += header >>> InputRecorder.EVENT_TYPE_BITS;
+        nextEventType = (int) (header & ((1 << InputRecorder.EVENT_TYPE_BITS) - 1));
+    }
+
+    // Jalankan satu tick; false jika permainan yang direkam sudah selesai
+    public boolean step() {
+        if (finished) {
+            return false;
+        }
+        if (tick % KEYFRAME_INTERVAL == 0 && keyframes.size() == tick / KEYFRAME_INTERVAL) {
+            keyframes.add(new Keyframe(this));
+        }
+
+        // Sama dengan InputController.processInput(): perintah, lalu gerakan
+        while (nextEventTick == tick) {
+            applyEvent(nextEventType);
+            readNextEvent();
+        }
+        if (engine.isRunning() && direction != InputRecorder.NO_DIRECTION) {
+            engine.movePlayer(direction / 3 - 1, direction % 3 - 1);
+        }
+        tick++;
+
+        // Sama dengan GamePanel.tick(): permainan selesai setelah sempat berjalan
+        if (!engine.isRunning()) {
+            if (started) {
+                finished = true;
+            }
+            return !finished;
+        }
+        started = true;
+        engine.update();
+        return true;
+    }
+
+    private void applyEvent(int type) {
+        switch (type) {
+            case InputRecorder.EVENT_START:
+                engine.startGame(username);
+                break;
+            case InputRecorder.EVENT_DIRECTION:
+                direction = inputs.readByte();
+                break;
+            case InputRecorder.EVENT_LASSO:
+                int x = (int) inputs.readSigned();
+                int y = (int) inputs.readSigned();
+                engine.throwLasso(x, y);
+                break;
+            case InputRecorder.EVENT_END:
+                engine.endGame();
+                break;
+            default:
+                throw new IllegalStateException("Event rekaman tidak dikenal: " + type);
+        }
+    }
+
+    // Jalankan sampai permainan yang direkam selesai
+    public void runToEnd() {
+        while (step()) {
+            // Simulasi berjalan secepat mungkin
+        }
+    }
+
+    // Pindah ke awal tick tertentu; mundur memakai keyframe terdekat yang sudah dilewati
+    public void seek(long target) {
+        int index = (int) Math.min(target / KEYFRAME_INTERVAL, keyframes.size() - 1);
+        if (index >= 0 && (target < tick || keyframes.get(index).tick > tick)) {
+            restore(keyframes.get(index));
+        }
+        while (tick < target && step()) {
+            // Simulasikan sisa tick sampai target
+        }
+    }
+
+    private void restore(Keyframe keyframe) {
+        tick = keyframe.tick;
+        engine.restoreKeyframe(keyframe.engine);
+        inputs.setPosition(keyframe.inputPosition);
+        nextEventTick = keyframe.nextEventTick;
+        nextEventType = keyframe.nextEventType;
+        direction = keyframe.direction;
+        times.setPosition(keyframe.timePosition);
+        lastTime = keyframe.lastTime;
+        timeRead = keyframe.timeRead;
+        started = keyframe.started;
+        finished = false;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    // Apakah hasil replay sama dengan penutup rekaman (hanya berarti setelah selesai)
+    public boolean matchesRecording() {
+        return tick == recordedTicks && engine.getScore() == recordedScore
+                && engine.getHeartsCollected() == recordedHearts;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Pemakaian: InputReplay FILE.azr [--seek TICK]");
+            System.exit(2);
+        }
+        File file = new File(args[0]);
+        long seekTick = -1;
+        for (int i = 1; i < args.length; i++) {
+            if ("--seek".equals(args[i]) && i + 1 < args.length) {
+                seekTick = Long.parseLong(args[++i]);
+            } else {
+                System.out.println("Argumen tidak dikenal: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        InputReplay replay = load(file);
+        System.out.println("Rekaman         : " + file + " (" + file.length() + " byte, pemain " + replay.username + ")");
+
+        long startNanos = System.nanoTime();
+        replay.runToEnd();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        GameEngine engine = replay.getEngine();
+        System.out.printf("Replay          : %d tick dalam %.3f s (%.0fx waktu nyata)%n",
+                replay.tick, seconds, replay.tick / seconds / 60);
+        System.out.println("Hasil           : skor " + engine.getScore() + ", hati " + engine.getHeartsCollected()
+                + " (rekaman: skor " + replay.recordedScore + ", hati " + replay.recordedHearts
+                + ", " + replay.recordedTicks + " tick)");
+        System.out.println("Deterministik   : " + (replay.matchesRecording() ? "ya" : "TIDAK - hasil berbeda"));
+
+        if (seekTick >= 0) {
+            startNanos = System.nanoTime();
+            replay.seek(seekTick);
+            double millis = (System.nanoTime() - startNanos) / 1e6;
+            System.out.printf("Seek ke tick %d : %.2f ms, skor %d, hati %d, %d hati di layar%n",
+                    replay.tick, millis, engine.getScore(), engine.getHeartsCollected(), engine.getHearts().size());
+        }
+    }
+}
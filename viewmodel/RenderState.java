@@ -0,0 +1,47 @@
+package viewmodel;
+
+import java.awt.*;
+
+/**
+ * Status permainan yang dibaca renderer untuk menggambar satu frame.
+ * Diimplementasikan oleh GameEngine (status hidup, hanya untuk thread loop)
+ * dan FrameSnapshot (salinan per tick yang aman dibaca thread render).
+ * Semua getter hanya membaca; objek yang dikembalikan tidak boleh diubah.
+ */
+public interface RenderState {
+    boolean isRunning();
+
+    Point getPlayerPosition();
+
+    // Posisi pada tick sebelumnya, untuk interpolasi render
+    Point getPreviousPlayerPosition();
+
+    Point getGirlPosition();
+
+    HeartView getHearts();
+
+    // Apakah laso sedang dilempar; posisi laso di bawah hanya berarti jika true
+    boolean hasLasso();
+
+    Point getLassoStart();
+
+    Point getPreviousLassoStart();
+
+    // Ujung laso
+    Point getLassoEnd();
+
+    Point getPreviousLassoEnd();
+
+    int getScore();
+
+    int getHeartsCollected();
+
+    long getTimeRemaining();
+
+    boolean isFacingRight();
+
+    boolean isGirlFacingRight();
+
+    // 0=normal, 1=senang, 2=bersemangat, 3=tertawa
+    int getEmotionState();
+}
@@ -0,0 +1,28 @@
+package viewmodel;
+
+/**
+ * Jam yang hanya maju ketika advance() dipanggil, satu tick simulasi setiap kali.
+ * Waktu dihitung dalam nanodetik agar tick yang tidak habis dibagi milidetik
+ * (misalnya 60 tick per detik) tidak bergeser seiring waktu.
+ */
+public class TickClock implements GameClock {
+    private final long tickNanos;
+    private long elapsedNanos;
+
+    public TickClock(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick per detik harus positif");
+        }
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+    }
+
+    // Majukan jam satu tick
+    public void advance() {
+        elapsedNanos += tickNanos;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+}
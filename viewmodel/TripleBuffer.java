@@ -0,0 +1,45 @@
+package viewmodel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple buffer tanpa kunci untuk satu penulis dan satu pembaca.
+ * Penulis selalu mengisi buffer belakang lalu menukarnya dengan buffer
+ * "siap"; pembaca mengambil buffer siap hanya jika ada yang baru. Karena
+ * ketiga buffer tidak pernah dipakai dua thread sekaligus, isi buffer tidak
+ * perlu disalin ulang atau dikunci, dan tidak ada alokasi saat pertukaran.
+ */
+final class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100; // Buffer siap belum diambil pembaca
+
+    private final Object[] buffers;
+    // Indeks buffer siap beserta bendera FRESH
+    private final AtomicInteger ready = new AtomicInteger(1);
+    private int back = 0;  // Hanya disentuh penulis
+    private int front = 2; // Hanya disentuh pembaca
+
+    TripleBuffer(T first, T second, T third) {
+        buffers = new Object[] {first, second, third};
+    }
+
+    // Buffer yang boleh diisi penulis
+    @SuppressWarnings("unchecked")
+    T back() {
+        return (T) buffers[back];
+    }
+
+    // Terbitkan buffer belakang; buffer siap sebelumnya menjadi buffer belakang yang baru
+    void publish() {
+        back = ready.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // Buffer terbaru yang sudah diterbitkan; tetap sama sampai penulis menerbitkan yang baru
+    @SuppressWarnings("unchecked")
+    T front() {
+        if ((ready.get() & FRESH) != 0) {
+            front = ready.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
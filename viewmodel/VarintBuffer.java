@@ -0,0 +1,106 @@
+package viewmodel;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Buffer byte yang dapat tumbuh untuk format rekaman permainan. Bilangan
+ * ditulis sebagai varint LEB128 (7 bit per byte), dan bilangan bertanda
+ * memakai zigzag agar nilai negatif kecil tetap satu byte. Pembacaan memakai
+ * posisi yang dapat disimpan dan dipulihkan, sehingga replay dapat melompat
+ * ke keyframe tanpa membaca ulang dari awal.
+ */
+final class VarintBuffer {
+    private byte[] bytes;
+    private int length;
+    private int position;
+
+    VarintBuffer(int initialCapacity) {
+        bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    private VarintBuffer(byte[] bytes) {
+        this.bytes = bytes;
+        this.length = bytes.length;
+    }
+
+    void writeByte(int value) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    // Bilangan tak bertanda
+    void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    // Bilangan bertanda (zigzag: 0, -1, 1, -2, ... menjadi 0, 1, 2, 3, ...)
+    void writeSigned(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    int readByte() {
+        if (position >= length) {
+            throw new IllegalStateException("Rekaman berakhir sebelum waktunya");
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varint terlalu panjang");
+    }
+
+    long readSigned() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    boolean hasRemaining() {
+        return position < length;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    int size() {
+        return length;
+    }
+
+    // Tulis isi buffer didahului panjangnya
+    void writeTo(DataOutput output) throws IOException {
+        output.writeInt(length);
+        output.write(bytes, 0, length);
+    }
+
+    static VarintBuffer readFrom(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new EOFException("Panjang bagian rekaman tidak valid: " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new VarintBuffer(bytes);
+    }
+}